@@ -6,6 +6,7 @@ package org.csuc.deserialize;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.serialize.JaxbContextCache;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
@@ -45,7 +46,7 @@ public class JaxbUnmarshal {
 	public JaxbUnmarshal(File file, Class[] classType) {
 		logger.debug(String.format("read file %s", file));
 		try {
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 			Unmarshaller u = jc.createUnmarshaller();
             u.setEventHandler(validationEvent);
 
@@ -63,7 +64,7 @@ public class JaxbUnmarshal {
 	
 	public JaxbUnmarshal(InputStream inputStream, Class[] classType) {
 		try {
-		    JAXBContext jc = JAXBContext.newInstance(classType);
+		    JAXBContext jc = JaxbContextCache.of(classType).getContext();
 		    Unmarshaller u = jc.createUnmarshaller();
             u.setEventHandler(validationEvent);
 
@@ -82,7 +83,7 @@ public class JaxbUnmarshal {
 	public JaxbUnmarshal(URL url, Class[] classType) {
 		logger.debug(String.format("read url %s", url));
 		try {
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 		    Unmarshaller u = jc.createUnmarshaller();
             u.setEventHandler(validationEvent);
 
@@ -101,7 +102,7 @@ public class JaxbUnmarshal {
 	public JaxbUnmarshal(StringBuffer stringbuffer, Class[] classType) {
 		logger.debug(String.format("read StringBuffer %s", stringbuffer));
 		try {
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 		    Unmarshaller u = jc.createUnmarshaller();
             u.setEventHandler(validationEvent);
 
@@ -121,7 +122,7 @@ public class JaxbUnmarshal {
 		logger.debug(String.format("read Node %s", node));
 		try {			
 		    Source xmlSource = new DOMSource(node);
-		    Unmarshaller u = JAXBContext.newInstance(classType).createUnmarshaller();
+		    Unmarshaller u = JaxbContextCache.of(classType).getContext().createUnmarshaller();
             u.setEventHandler(validationEvent);
 
             Object obj = u.unmarshal(xmlSource);
@@ -168,7 +169,7 @@ public class JaxbUnmarshal {
 //					new SAXSource( xmlReader, new InputSource( "http://..." ) );
 
 			// Setup JAXB to unmarshal
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 			Unmarshaller u = jc.createUnmarshaller();
 			ValidationEventCollector vec = new ValidationEventCollector();
 			u.setEventHandler( vec );
@@ -199,7 +200,7 @@ public class JaxbUnmarshal {
 	public JaxbUnmarshal(XMLStreamReader xmlStreamReader, Class[] classType) {
 		logger.debug(String.format("read XMLStreamReader %s", xmlStreamReader));
 		try {
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 		    Unmarshaller u = jc.createUnmarshaller();
 
             Object obj = u.unmarshal(xmlStreamReader);
@@ -217,7 +218,7 @@ public class JaxbUnmarshal {
 	public JaxbUnmarshal(XMLEventReader xmlEventReader, Class[] classType) {
 		logger.debug(String.format("read XMLEventReader %s", xmlEventReader));
 		try {
-			JAXBContext jc = JAXBContext.newInstance(classType);
+			JAXBContext jc = JaxbContextCache.of(classType).getContext();
 		    Unmarshaller u = jc.createUnmarshaller();
 
             Object obj = u.unmarshal(xmlEventReader);
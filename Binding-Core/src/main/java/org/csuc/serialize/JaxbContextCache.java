@@ -0,0 +1,70 @@
+/**
+ *
+ */
+package org.csuc.serialize;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Process wide cache of {@link JAXBContext}, keyed by the set of bound classes, with a pool of {@link Marshaller}s
+ * per context. Building the context of a large generated model takes seconds, so it is done once per JVM.
+ *
+ * Marshallers are not thread-safe: {@link #acquireMarshaller()} hands one to a single caller until it is given back
+ * with {@link #releaseMarshaller(Marshaller)}.
+ *
+ * @author amartinez
+ *
+ */
+public class JaxbContextCache {
+
+	private static Map<Set<Class<?>>, JaxbContextCache> cache = new ConcurrentHashMap<>();
+
+	private JAXBContext context;
+	private Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+
+	private JaxbContextCache(JAXBContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * @param classType
+	 * @return the cached context of the classes, built on first use
+	 * @throws JAXBException
+	 */
+	public static JaxbContextCache of(Class<?>... classType) throws JAXBException {
+		Set<Class<?>> key = new HashSet<>(Arrays.asList(classType));
+
+		JaxbContextCache cached = cache.get(key);
+		if (Objects.isNull(cached)) {
+			JaxbContextCache created = new JaxbContextCache(JAXBContext.newInstance(classType));
+			cached = cache.putIfAbsent(key, created);
+			if (Objects.isNull(cached)) cached = created;
+		}
+		return cached;
+	}
+
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return a pooled marshaller or a new one if all are in use
+	 * @throws JAXBException
+	 */
+	public Marshaller acquireMarshaller() throws JAXBException {
+		Marshaller marshaller = marshallers.poll();
+		return Objects.nonNull(marshaller) ? marshaller : context.createMarshaller();
+	}
+
+	/**
+	 * @param marshaller obtained from {@link #acquireMarshaller()}
+	 */
+	public void releaseMarshaller(Marshaller marshaller) {
+		if (Objects.nonNull(marshaller)) marshallers.offer(marshaller);
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ *
+ */
+package org.csuc.serialize;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * {@link JaxbStreamWriter} that marshals the children on a {@link ForkJoinPool}. Children are grouped in chunks of
+ * {@value #CHUNK} and every chunk is marshalled into its own byte buffer. Buffers are written to the stream in the
+ * order the children were written, so the document is the same whatever the number of threads.
+ *
+ * Marshallers are acquired from the {@link JaxbContextCache} pool, about one per thread, and kept by the writer: they
+ * are configured for fragments and cannot be handed back as they were.
+ *
+ * At most two chunks per thread are pending at a time, the caller waits for the oldest one before queueing more.
+ *
+ * @author amartinez
+ *
+ */
+public class JaxbParallelWriter extends JaxbStreamWriter {
+
+	private static final int CHUNK = 64;
+
+	private ForkJoinPool pool;
+	private int threads;
+	private List<JAXBElement<?>> chunk = new ArrayList<>(CHUNK);
+	private Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+	private Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param stream     output, not closed by {@link #close()}
+	 * @param charset
+	 * @param root       root element, its namespace is the default namespace of the document
+	 * @param attributes attributes of the root element, in order. {@code null} values are skipped
+	 * @param threads    marshalling threads
+	 * @param classType  bound classes of the children
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 * @throws IOException
+	 */
+	public JaxbParallelWriter(OutputStream stream, Charset charset, QName root, Map<String, String> attributes,
+							  int threads, Class<?>... classType) throws JAXBException, XMLStreamException, IOException {
+		super(stream, charset, root, attributes, classType);
+		if (threads < 1) throw new IllegalArgumentException(String.format("%s threads", threads));
+		this.threads = threads;
+		this.pool = new ForkJoinPool(threads);
+	}
+
+	/**
+	 * Queues the child, it is written to the stream once its chunk is marshalled.
+	 *
+	 * @param fragment child of the root element
+	 * @throws JAXBException
+	 */
+	@Override
+	public void write(JAXBElement<?> fragment) throws JAXBException {
+		chunk.add(fragment);
+		if (chunk.size() < CHUNK) return;
+
+		submit();
+		try {
+			while (pending.size() > 2 * threads || (!pending.isEmpty() && pending.peekFirst().isDone()))
+				drain();
+		} catch (IOException e) {
+			throw new JAXBException(e);
+		}
+	}
+
+	/**
+	 * Writes the pending chunks, closes the root element and shuts the pool down.
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (!chunk.isEmpty()) submit();
+			while (!pending.isEmpty()) drain();
+		} catch (JAXBException e) {
+			throw new IOException(e);
+		} finally {
+			pool.shutdownNow();
+		}
+		super.close();
+	}
+
+	private void submit() {
+		List<JAXBElement<?>> fragments = chunk;
+		chunk = new ArrayList<>(CHUNK);
+		pending.addLast(pool.submit(() -> marshal(fragments)));
+	}
+
+	/**
+	 * Waits for the oldest chunk and writes it to the stream.
+	 *
+	 * @throws JAXBException
+	 * @throws IOException
+	 */
+	private void drain() throws JAXBException, IOException {
+		byte[] bytes;
+		try {
+			bytes = pending.removeFirst().join();
+		} catch (RuntimeException e) {
+			// join may rethrow a copy of the task exception, the JAXBException is somewhere in the causes
+			for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause())
+				if (cause instanceof JAXBException) throw (JAXBException) cause;
+			throw e;
+		}
+		stream.write(bytes);
+	}
+
+	private byte[] marshal(List<JAXBElement<?>> fragments) {
+		try {
+			Marshaller marshaller = marshallers.poll();
+			if (Objects.isNull(marshaller)) marshaller = configure(context.acquireMarshaller());
+
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(fragments.size() * 1024);
+			for (JAXBElement<?> fragment : fragments) marshaller.marshal(fragment, buffer);
+			marshallers.offer(marshaller);
+			return buffer.toByteArray();
+		} catch (JAXBException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
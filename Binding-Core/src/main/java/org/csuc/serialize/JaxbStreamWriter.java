@@ -0,0 +1,140 @@
+/**
+ *
+ */
+package org.csuc.serialize;
+
+import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes a document one child at a time instead of marshalling the whole tree. The root element is opened with StAX
+ * and every child is marshalled as a JAXB fragment straight to the stream as soon as it is written, so only the
+ * current child is kept in memory.
+ *
+ * The bytes are the same {@link JaxbMarshal} writes for the whole tree (unformatted): same XML declaration, the
+ * namespace declared once on the root and the children marshalled by the same JAXB output.
+ *
+ * @author amartinez
+ *
+ */
+public class JaxbStreamWriter implements Closeable {
+
+	private static final String PREFIX_MAPPER = "com.sun.xml.bind.namespacePrefixMapper";
+
+	protected OutputStream stream;
+	protected JaxbContextCache context;
+	private QName root;
+	private Charset charset;
+	private XMLStreamWriter writer;
+	private Marshaller marshaller;
+
+	/**
+	 * Writes the XML declaration and opens the root element.
+	 *
+	 * @param stream     output, not closed by {@link #close()}
+	 * @param charset
+	 * @param root       root element, its namespace is the default namespace of the document
+	 * @param attributes attributes of the root element, in order. {@code null} values are skipped
+	 * @param classType  bound classes of the children
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 * @throws IOException
+	 */
+	public JaxbStreamWriter(OutputStream stream, Charset charset, QName root, Map<String, String> attributes,
+							Class<?>... classType) throws JAXBException, XMLStreamException, IOException {
+		this.stream = stream;
+		this.context = JaxbContextCache.of(classType);
+		this.root = root;
+		this.charset = charset;
+
+		marshaller = configure(context.getContext().createMarshaller());
+
+		stream.write(String.format("<?xml version=\"1.0\" encoding=\"%s\" standalone=\"yes\"?>", charset).getBytes(charset));
+
+		writer = XMLOutputFactory.newInstance().createXMLStreamWriter(stream, charset.toString());
+		writer.setDefaultNamespace(root.getNamespaceURI());
+		writer.writeStartElement(root.getNamespaceURI(), root.getLocalPart());
+		writer.writeDefaultNamespace(root.getNamespaceURI());
+		for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+			if (Objects.nonNull(attribute.getValue())) writer.writeAttribute(attribute.getKey(), attribute.getValue());
+		}
+		writer.writeCharacters(""); // closes the start tag before the children are written to the stream
+		writer.flush();
+	}
+
+	/**
+	 * @param fragment child of the root element
+	 * @throws JAXBException
+	 */
+	public void write(JAXBElement<?> fragment) throws JAXBException {
+		marshaller.marshal(fragment, stream);
+	}
+
+	/**
+	 * Sets the properties every fragment is marshalled with.
+	 *
+	 * @param marshaller
+	 * @return the marshaller
+	 * @throws JAXBException
+	 */
+	protected Marshaller configure(Marshaller marshaller) throws JAXBException {
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, charset.toString());
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+		marshaller.setProperty(PREFIX_MAPPER, new RootNamespace(root.getNamespaceURI()));
+		return marshaller;
+	}
+
+	/**
+	 * Closes the root element and flushes the stream.
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+			stream.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Tells JAXB the namespace of the root is already declared, so fragments do not repeat it.
+	 */
+	private static class RootNamespace extends NamespacePrefixMapper {
+
+		private String namespace;
+
+		RootNamespace(String namespace) {
+			this.namespace = namespace;
+		}
+
+		@Override
+		public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+			return (!requirePrefix && Objects.equals(namespace, namespaceUri)) ? "" : suggestion;
+		}
+
+		@Override
+		public String[] getContextualNamespaceDecls() {
+			return new String[]{"", namespace};
+		}
+	}
+}
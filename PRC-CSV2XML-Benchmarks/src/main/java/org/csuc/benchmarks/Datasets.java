@@ -0,0 +1,145 @@
+package org.csuc.benchmarks;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.csuc.utils.SHEETS;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Synthetic PRC data of a given size for the benchmarks: {@code size} rows in every entity sheet and three relation
+ * rows per entity. One relation in ten has no ORCID, so the unchecked persons are exercised too.
+ *
+ * @author amartinez
+ */
+final class Datasets {
+
+    static final char DELIMITER = ';';
+    static final String END_OF_LINE = "\n";
+
+    /**
+     * Relation rows per entity.
+     */
+    static final int RELATIONS = 3;
+
+    private Datasets() {
+    }
+
+    /**
+     * @param sheet
+     * @param size  rows of the entity sheets
+     * @return rows of the sheet, without the header
+     */
+    static int rows(SHEETS sheet, int size) {
+        return sheet.name().endsWith("relations") ? size * RELATIONS : size;
+    }
+
+    /**
+     * @param sheet
+     * @param i     zero based row, without the header
+     * @param size  rows of the entity sheets
+     * @return the cells of the row, {@code null} for an empty cell
+     */
+    static String[] row(SHEETS sheet, int i, int size) {
+        int entity = (sheet.name().endsWith("relations") ? i / RELATIONS : i) + 1;
+        String orcid = (i % 10 == 9) ? null : orcid((i * 7) % size + 1);
+        switch (sheet) {
+            case researchers:
+                return new String[]{"Researcher " + entity, orcid(entity), "R. " + entity, "researcher" + entity + "@example.org"};
+            case departments:
+                return new String[]{"Department " + entity, "D" + entity, "Street " + entity, "http://example.org/d/" + entity,
+                        "d" + entity + "@example.org", "D" + entity, "93" + entity};
+            case departments_relations:
+                return new String[]{"D" + entity, orcid((i * 7) % size + 1)};
+            case research_groups:
+                return new String[]{"Group " + entity, "G" + entity, "http://example.org/g/" + entity, "g" + entity + "@example.org",
+                        "G" + entity, "SGR" + entity, "2012-05-30T00:00:00"};
+            case research_groups_relations:
+                return new String[]{"G" + entity, "Member " + i, orcid, (i % RELATIONS == 0) ? "si" : "no"};
+            case projects:
+                return new String[]{"Project " + entity, "http://example.org/p/" + entity, "OFF" + entity, "P" + entity,
+                        "Programme", "2012-01-01T00:00:00", "2014-12-31T00:00:00"};
+            case projects_relations:
+                return new String[]{"P" + entity, "Member " + i, orcid, (i % RELATIONS == 0) ? "si" : "no"};
+            case publications:
+                return new String[]{"Publication " + entity, "publ" + entity, "10.1000/" + entity, "http://hdl.handle.net/2117/" + entity,
+                        "1", "2", "1", "10", "1133221580", "1456-2979", "2012-05-30", "Journal", "Publisher",
+                        "Doctoral Thesis", "Author, A.; Author, B."};
+            case publication_relations:
+                return new String[]{"publ" + entity, "Author " + i, orcid, (i % RELATIONS == 0) ? "si" : "no"};
+            default:
+                throw new IllegalArgumentException(sheet.toString());
+        }
+    }
+
+    /**
+     * @param sheet
+     * @param size  rows of the entity sheets
+     * @return temporal UTF-8 CSV file of the sheet, with its header
+     * @throws IOException
+     */
+    static File csv(SHEETS sheet, int size) throws IOException {
+        File file = File.createTempFile(sheet.name(), ".csv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            write(writer, header(sheet));
+            for (int i = 0; i < rows(sheet, size); i++) write(writer, row(sheet, i, size));
+        }
+        return file;
+    }
+
+    /**
+     * @param size rows of the entity sheets
+     * @return temporal workbook with the nine sheets, streamed through SXSSF
+     * @throws IOException
+     */
+    static File workbook(int size) throws IOException {
+        File file = File.createTempFile("PRC", ".xlsx");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (OutputStream out = new FileOutputStream(file)) {
+            for (SHEETS kind : SHEETS.values()) {
+                Sheet sheet = workbook.createSheet(kind.value());
+                write(sheet.createRow(0), header(kind));
+                for (int i = 0; i < rows(kind, size); i++) write(sheet.createRow(i + 1), row(kind, i, size));
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return file;
+    }
+
+    static String orcid(int researcher) {
+        return String.format("0000-%04d-%04d-%04d", researcher / 100_000_000, researcher / 10_000 % 10_000, researcher % 10_000);
+    }
+
+    private static String[] header(SHEETS sheet) {
+        String[] header = new String[sheet.columns()];
+        for (int i = 0; i < header.length; i++) header[i] = sheet.headers(i)[0];
+        return header;
+    }
+
+    private static void write(Writer writer, String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) writer.write(DELIMITER);
+            if (Objects.isNull(cells[i])) continue;
+            boolean quote = cells[i].indexOf(DELIMITER) >= 0 || cells[i].indexOf('"') >= 0;
+            writer.write(quote ? '"' + cells[i].replace("\"", "\"\"") + '"' : cells[i]);
+        }
+        writer.write(END_OF_LINE);
+    }
+
+    private static void write(Row row, String[] cells) {
+        for (int i = 0; i < cells.length; i++)
+            if (Objects.nonNull(cells[i])) row.createCell(i).setCellValue(cells[i]);
+    }
+}
@@ -0,0 +1,179 @@
+package org.csuc.benchmarks;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Measures of the conversions run by {@link PipelineHarness}, one run per input size, written and read as JSON:
+ *
+ * <pre>
+ * {"runs": [{"size": 1000, "wallNanos": ..., "peakHeapBytes": ..., "gcCount": ..., "gcMillis": ..., "outputBytes": ...,
+ *            "stages": {"extract": {"nanos": ..., "allocatedBytes": ...}, ...}}, ...]}
+ * </pre>
+ *
+ * @author amartinez
+ */
+final class HarnessReport {
+
+    /**
+     * Allocations under this size are not compared, a stage of a few rows allocates mostly JIT and class loading noise.
+     */
+    private static final long MIN_BYTES = 1024 * 1024;
+
+    private List<Run> runs = new ArrayList<>();
+
+    void add(Run run) {
+        runs.add(run);
+    }
+
+    List<Run> getRuns() {
+        return runs;
+    }
+
+    void write(File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("{\"runs\": [");
+            for (int i = 0; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                writer.write(i > 0 ? ",\n  " : "\n  ");
+                writer.write(String.format("{\"size\": %d, \"wallNanos\": %d, \"peakHeapBytes\": %d, \"gcCount\": %d, \"gcMillis\": %d, \"outputBytes\": %d, \"stages\": {",
+                        run.size, run.wallNanos, run.peakHeapBytes, run.gcCount, run.gcMillis, run.outputBytes));
+                String separator = "";
+                for (Map.Entry<String, Stage> stage : run.stages.entrySet()) {
+                    writer.write(String.format("%s\n    \"%s\": {\"nanos\": %d, \"allocatedBytes\": %d}",
+                            separator, stage.getKey(), stage.getValue().nanos, stage.getValue().allocatedBytes));
+                    separator = ",";
+                }
+                writer.write("}}");
+            }
+            writer.write("\n]}\n");
+        }
+    }
+
+    static HarnessReport read(File file) {
+        HarnessReport report = new HarnessReport();
+        for (Config run : ConfigFactory.parseFile(file).getConfigList("runs")) {
+            Config stages = run.getConfig("stages");
+            Map<String, Stage> measures = new LinkedHashMap<>();
+            for (String stage : stages.root().keySet())
+                measures.put(stage, new Stage(stages.getLong(stage + ".nanos"), stages.getLong(stage + ".allocatedBytes")));
+            report.add(new Run(run.getInt("size"), run.getLong("wallNanos"), run.getLong("peakHeapBytes"), run.getLong("gcCount"),
+                    run.getLong("gcMillis"), run.getLong("outputBytes"), measures));
+        }
+        return report;
+    }
+
+    /**
+     * Compares every run with the run of the same size of the baseline.
+     *
+     * @param baseline
+     * @param tolerance highest accepted ratio between a measure and the one of the baseline
+     * @param minNanos  stages shorter than this in both reports are not compared
+     * @return a message for every regression
+     */
+    List<String> regressions(HarnessReport baseline, double tolerance, long minNanos) {
+        List<String> regressions = new ArrayList<>();
+        for (Run run : runs) {
+            Optional<Run> previous = baseline.runs.stream().filter(other -> other.size == run.size).findFirst();
+            if (!previous.isPresent()) continue;
+
+            if (run.peakHeapBytes > Math.max(previous.get().peakHeapBytes, MIN_BYTES) * tolerance)
+                regressions.add(String.format("size %d: peak heap %d bytes, baseline %d bytes", run.size, run.peakHeapBytes, previous.get().peakHeapBytes));
+            run.stages.forEach((name, stage) -> {
+                Stage before = previous.get().stages.get(name);
+                if (Objects.isNull(before)) return;
+                if (stage.nanos > Math.max(before.nanos, minNanos) * tolerance)
+                    regressions.add(String.format("size %d: stage %s took %d ms, baseline %d ms", run.size, name,
+                            stage.nanos / 1_000_000, before.nanos / 1_000_000));
+                if (stage.allocatedBytes > Math.max(before.allocatedBytes, MIN_BYTES) * tolerance)
+                    regressions.add(String.format("size %d: stage %s allocated %d bytes, baseline %d bytes", run.size, name,
+                            stage.allocatedBytes, before.allocatedBytes));
+            });
+        }
+        return regressions;
+    }
+
+    /**
+     * Compares the cost per unit of input of every stage between the smallest and the largest run: a stage linear in
+     * its input keeps about the same cost, a quadratic one grows with the size.
+     *
+     * The linear cost of the largest run is never taken below {@code minNanos}, or {@value #MIN_BYTES} bytes, so a stage
+     * that takes next to nothing in the smallest run, like one that runs on other threads, is not reported.
+     *
+     * @param maxGrowth highest accepted ratio between the cost per unit of the largest and the smallest run
+     * @param minNanos  lowest linear duration of a stage in the largest run
+     * @return a message for every stage that grows faster than its input
+     */
+    List<String> growth(double maxGrowth, long minNanos) {
+        List<String> regressions = new ArrayList<>();
+        if (runs.size() < 2) return regressions;
+
+        Run smallest = runs.stream().min(Comparator.comparingInt(run -> run.size)).get();
+        Run largest = runs.stream().max(Comparator.comparingInt(run -> run.size)).get();
+        double scale = (double) largest.size / smallest.size;
+        largest.stages.forEach((name, stage) -> {
+            Stage small = smallest.stages.get(name);
+            if (Objects.isNull(small)) return;
+            if (stage.nanos > Math.max(small.nanos * scale, minNanos) * maxGrowth)
+                regressions.add(String.format("stage %s took %d ms for size %d and %d ms for size %d, more than %s times linear",
+                        name, stage.nanos / 1_000_000, largest.size, small.nanos / 1_000_000, smallest.size, maxGrowth));
+            if (stage.allocatedBytes > Math.max(small.allocatedBytes * scale, MIN_BYTES) * maxGrowth)
+                regressions.add(String.format("stage %s allocated %d bytes for size %d and %d bytes for size %d, more than %s times linear",
+                        name, stage.allocatedBytes, largest.size, small.allocatedBytes, smallest.size, maxGrowth));
+        });
+        return regressions;
+    }
+
+    /**
+     * Measures of one stage.
+     */
+    static final class Stage {
+
+        final long nanos;
+        final long allocatedBytes;
+
+        Stage(long nanos, long allocatedBytes) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    /**
+     * Measures of one conversion.
+     */
+    static final class Run {
+
+        final int size;
+        final long wallNanos;
+        final long peakHeapBytes;
+        final long gcCount;
+        final long gcMillis;
+        final long outputBytes;
+        final Map<String, Stage> stages;
+
+        Run(int size, long wallNanos, long peakHeapBytes, long gcCount, long gcMillis, long outputBytes, Map<String, Stage> stages) {
+            this.size = size;
+            this.wallNanos = wallNanos;
+            this.peakHeapBytes = peakHeapBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.outputBytes = outputBytes;
+            this.stages = stages;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.csuc.benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Highest used heap while it is open. The pools of the heap peak at different times, so their peaks cannot be added
+ * up: the used heap is sampled as a whole every {@value #PERIOD} ms, and taken just before every collection, when it
+ * is the highest, from the notifications of the collectors.
+ *
+ * @author amartinez
+ */
+final class HeapPeak implements AutoCloseable {
+
+    private static final long PERIOD = 10;
+
+    private Set<String> pools = new HashSet<>();
+    private AtomicLong peak = new AtomicLong();
+    private ScheduledExecutorService sampler;
+    private NotificationListener listener = (notification, handback) -> {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        update(info.getGcInfo().getMemoryUsageBeforeGc().entrySet().stream()
+                .filter(pool -> pools.contains(pool.getKey()))
+                .mapToLong(pool -> pool.getValue().getUsed()).sum());
+    };
+
+    HeapPeak() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP) pools.add(pool.getName());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+
+        sample();
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heap-peak");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, PERIOD, PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return highest used heap so far, in bytes
+     */
+    long get() {
+        sample();
+        return peak.get();
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) collector).removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // not registered on this collector
+            }
+        }
+    }
+
+    private void sample() {
+        update(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+
+    private void update(long used) {
+        peak.accumulateAndGet(used, Math::max);
+    }
+}
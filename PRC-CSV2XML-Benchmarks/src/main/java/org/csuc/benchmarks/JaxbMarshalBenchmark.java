@@ -0,0 +1,72 @@
+package org.csuc.benchmarks;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.csuc.csv.PublicationRow;
+import org.csuc.csv.RelationRow;
+import org.csuc.csv.ResearcherRow;
+import org.csuc.marshal.ConversionContext;
+import org.csuc.marshal.MarshalPublication;
+import org.csuc.marshal.MarshalReseracher;
+import org.csuc.serialize.JaxbMarshal;
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.csuc.utils.SHEETS;
+import org.openjdk.jmh.annotations.*;
+import xmlns.org.eurocris.cerif_1.CERIF;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JaxbMarshal#marshaller(java.io.OutputStream, java.nio.charset.Charset, boolean, boolean)} of a CERIF document
+ * with as many researchers as publications, each publication with its authors.
+ *
+ * @author amartinez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JaxbMarshalBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int entities;
+
+    @Param({"false", "true"})
+    public boolean formatted;
+
+    private CERIF cerif;
+
+    @Setup
+    public void setup() {
+        ConversionContext context = new ConversionContext();
+        String checked = Semantics.getClassId(ClassId.CHECKED);
+        for (int i = 0; i < entities; i++)
+            context.add(new MarshalReseracher(ResearcherRow.of(cells(SHEETS.researchers, i)), checked, context.getRandomNumeric()));
+
+        cerif = new CERIF();
+        cerif.setSourceDatabase("024");
+        List<Object> children = cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr();
+        for (int i = 0; i < entities; i++) {
+            List<RelationRow> relation = new ArrayList<>(Datasets.RELATIONS);
+            for (int j = 0; j < Datasets.RELATIONS; j++)
+                relation.add(RelationRow.of(cells(SHEETS.publication_relations, i * Datasets.RELATIONS + j)));
+            children.add(new MarshalPublication(PublicationRow.of(cells(SHEETS.publications, i)), relation, context));
+        }
+        children.addAll(0, context);
+    }
+
+    @Benchmark
+    public void marshaller() throws Exception {
+        new JaxbMarshal(cerif, CERIF.class).marshaller(NullOutputStream.NULL_OUTPUT_STREAM, StandardCharsets.UTF_8, formatted, false);
+    }
+
+    private List<Object> cells(SHEETS sheet, int i) {
+        return Arrays.asList((Object[]) Datasets.row(sheet, i, entities));
+    }
+}
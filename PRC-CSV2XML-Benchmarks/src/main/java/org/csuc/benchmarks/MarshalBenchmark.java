@@ -0,0 +1,132 @@
+package org.csuc.benchmarks;
+
+import org.csuc.csv.*;
+import org.csuc.marshal.*;
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.csuc.utils.SHEETS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Constructors of the {@code Marshal*} entities against a conversion with a growing number of researchers. Every
+ * entity has {@value Datasets#RELATIONS} relation rows, one in ten without ORCID, and is marshalled on its own stage
+ * context so the unchecked persons it creates do not pile up between invocations.
+ *
+ * @author amartinez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MarshalBenchmark {
+
+    private static final int ROWS = 1024;
+
+    @Param({"100", "10000", "100000"})
+    public int researchers;
+
+    private ConversionContext context;
+    private String checked;
+
+    private ResearcherRow[] researcherRows;
+    private DepartmentRow[] departmentRows;
+    private ResearchGroupRow[] researchGroupRows;
+    private ProjectRow[] projectRows;
+    private PublicationRow[] publicationRows;
+
+    private List<List<RelationRow>> departmentRelations;
+    private List<List<RelationRow>> researchGroupRelations;
+    private List<List<RelationRow>> projectRelations;
+    private List<List<RelationRow>> publicationRelations;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void rows() {
+        checked = Semantics.getClassId(ClassId.CHECKED);
+
+        researcherRows = rows(SHEETS.researchers, ResearcherRow::of, new ResearcherRow[ROWS]);
+        departmentRows = rows(SHEETS.departments, DepartmentRow::of, new DepartmentRow[ROWS]);
+        researchGroupRows = rows(SHEETS.research_groups, ResearchGroupRow::of, new ResearchGroupRow[ROWS]);
+        projectRows = rows(SHEETS.projects, ProjectRow::of, new ProjectRow[ROWS]);
+        publicationRows = rows(SHEETS.publications, PublicationRow::of, new PublicationRow[ROWS]);
+
+        departmentRelations = relations(SHEETS.departments_relations, RelationRow::ofDepartment);
+        researchGroupRelations = relations(SHEETS.research_groups_relations, RelationRow::of);
+        projectRelations = relations(SHEETS.projects_relations, RelationRow::of);
+        publicationRelations = relations(SHEETS.publication_relations, RelationRow::of);
+    }
+
+    /**
+     * A new conversion per iteration: the generated ids would otherwise grow for the whole run.
+     */
+    @Setup(Level.Iteration)
+    public void context() {
+        context = new ConversionContext();
+        for (int i = 0; i < researchers; i++)
+            context.add(new MarshalReseracher(ResearcherRow.of(cells(SHEETS.researchers, i, researchers)), checked,
+                    context.getRandomNumeric()));
+    }
+
+    @Benchmark
+    public Object marshalResearcher() {
+        return new MarshalReseracher(researcherRows[next()], checked, context.getRandomNumeric());
+    }
+
+    @Benchmark
+    public Object marshalDepartment() {
+        int i = next();
+        return new MarshalDepartment(departmentRows[i], departmentRelations.get(i), context.stage());
+    }
+
+    @Benchmark
+    public Object marshalResearchGroup() {
+        int i = next();
+        return new MarshalResearchGroup(researchGroupRows[i], researchGroupRelations.get(i), context.stage());
+    }
+
+    @Benchmark
+    public Object marshalProject() {
+        int i = next();
+        return new MarshalProject(projectRows[i], projectRelations.get(i), context.stage());
+    }
+
+    @Benchmark
+    public Object marshalPublication() {
+        int i = next();
+        return new MarshalPublication(publicationRows[i], publicationRelations.get(i), context.stage());
+    }
+
+    private int next() {
+        next = (next + 1) % ROWS;
+        return next;
+    }
+
+    private <T> T[] rows(SHEETS sheet, Function<List<Object>, T> mapper, T[] rows) {
+        for (int i = 0; i < rows.length; i++) rows[i] = mapper.apply(cells(sheet, i, researchers));
+        return rows;
+    }
+
+    private List<List<RelationRow>> relations(SHEETS sheet, Function<List<Object>, RelationRow> mapper) {
+        List<List<RelationRow>> relations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            List<RelationRow> entity = new ArrayList<>(Datasets.RELATIONS);
+            for (int j = 0; j < Datasets.RELATIONS; j++)
+                entity.add(mapper.apply(cells(sheet, i * Datasets.RELATIONS + j, researchers)));
+            relations.add(entity);
+        }
+        return relations;
+    }
+
+    private static List<Object> cells(SHEETS sheet, int i, int size) {
+        return Arrays.asList((Object[]) Datasets.row(sheet, i, size));
+    }
+}
@@ -0,0 +1,162 @@
+package org.csuc.benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.csuc.cli.App;
+import org.csuc.cli.ArgsBean;
+import org.csuc.poi.WorkbookGenerator;
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.kohsuke.args4j.spi.StopOptionHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs the whole conversion of {@link App} on generated workbooks of growing size and writes the measures of every
+ * run to a {@link HarnessReport}: wall time and allocated bytes of every stage, peak heap, GC and output size.
+ *
+ * The harness fails, with exit status 1, when a stage grows faster than its input between the smallest and the
+ * largest size, or when a measure is worse than the one of a baseline report by more than the tolerance.
+ *
+ * A size is the number of researchers, the other entities are scaled as in the defaults of
+ * {@link WorkbookGenerator}. Workbooks are kept in the work directory and reused by the next runs.
+ *
+ * @author amartinez
+ */
+public class PipelineHarness {
+
+    private static Logger logger = LogManager.getLogger(PipelineHarness.class);
+
+    @Option(name = "-h", aliases = "--help", help = true)
+    private boolean help = false;
+
+    @Option(name = "--sizes", aliases = "--sizes", usage = "researchers of every run, the other entities are scaled", metaVar = "<int,int...>")
+    private String sizes = "1000,10000,50000";
+
+    @Option(name = "--work", aliases = "--work", usage = "directory of the generated workbooks and of the outputs", metaVar = "<Path>")
+    private File work = new File(System.getProperty("java.io.tmpdir"), "PRC-harness");
+
+    @Option(name = "--report", aliases = "--report", usage = "JSON report of the runs", metaVar = "<Path>")
+    private File report = new File("pipeline-report.json");
+
+    @Option(name = "--baseline", aliases = "--baseline", usage = "JSON report to compare with, skipped when it does not exist", metaVar = "<Path>")
+    private File baseline;
+
+    @Option(name = "--tolerance", aliases = "--tolerance", usage = "highest accepted ratio between a measure and the baseline", metaVar = "<double>")
+    private double tolerance = 1.5;
+
+    @Option(name = "--maxGrowth", aliases = "--maxGrowth", usage = "highest accepted ratio between the cost per row of the largest and the smallest size", metaVar = "<double>")
+    private double maxGrowth = 3;
+
+    @Option(name = "--minMillis", aliases = "--minMillis", usage = "stages shorter than this are not compared", metaVar = "<long>")
+    private long minMillis = 100;
+
+    @Option(name = "--warmup", aliases = "--warmup", usage = "runs of the smallest size before the measures", metaVar = "<int>")
+    private int warmup = 1;
+
+    @Option(name = "--ruct", aliases = "--ruct", usage = "ruct code of the conversions", metaVar = "<String>")
+    private String ruct = "024";
+
+    @Argument
+    @Option(name = "--", handler = StopOptionHandler.class, usage = "options of the conversion, e.g. -- -s -t 4", metaVar = "<option>...")
+    private List<String> options = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new PipelineHarness().doMain(args));
+    }
+
+    private int doMain(String[] args) throws Exception {
+        CmdLineParser parser = new CmdLineParser(this);
+        try {
+            parser.setUsageWidth(500);
+            parser.parseArgument(args);
+        } catch (CmdLineException e) {
+            System.err.println(e.getMessage());
+            parser.printUsage(System.err);
+            return 1;
+        }
+        if (help) {
+            System.err.println("Usage: ");
+            parser.printUsage(System.err);
+            return 1;
+        }
+
+        if (!work.isDirectory() && !work.mkdirs()) throw new IOException(String.format("%s can not be created", work));
+        int[] ordered = Arrays.stream(sizes.split(",")).map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+
+        for (int i = 0; i < warmup && ordered.length > 0; i++) run(ordered[0]);
+
+        HarnessReport harnessReport = new HarnessReport();
+        for (int size : ordered) {
+            HarnessReport.Run run = run(size);
+            logger.info("Size {}: {} ms, peak heap {} MB, {} GC in {} ms, output {} bytes", size, run.wallNanos / 1_000_000,
+                    run.peakHeapBytes / (1024 * 1024), run.gcCount, run.gcMillis, run.outputBytes);
+            run.stages.forEach((stage, measure) -> logger.info("    {}: {} ms, {} MB allocated", stage,
+                    measure.nanos / 1_000_000, measure.allocatedBytes / (1024 * 1024)));
+            harnessReport.add(run);
+        }
+        harnessReport.write(report);
+        logger.info("Report {}", report);
+
+        List<String> regressions = harnessReport.growth(maxGrowth, minMillis * 1_000_000);
+        if (Objects.nonNull(baseline) && baseline.isFile())
+            regressions.addAll(harnessReport.regressions(HarnessReport.read(baseline), tolerance, minMillis * 1_000_000));
+        else if (Objects.nonNull(baseline)) logger.warn("Baseline {} not found, not compared: copy a report there to compare the next runs with it", baseline);
+
+        regressions.forEach(logger::error);
+        return regressions.isEmpty() ? 0 : 1;
+    }
+
+    private HarnessReport.Run run(int size) throws Exception {
+        File workbook = new File(work, String.format("PRC-%d.xlsx", size));
+        if (!workbook.isFile()) generator(size).writeWorkbook(workbook);
+        File output = new File(work, String.format("PRC-%d.xml", size));
+
+        List<String> args = new ArrayList<>(Arrays.asList("-i", workbook.toString(), "-o", output.toString(), "-ruct", ruct, "--deleteOnExit"));
+        args.addAll(options);
+        ArgsBean bean = ArgsBean.parse(args.toArray(new String[0]));
+
+        System.gc();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+
+        StageRecorder recorder = new StageRecorder();
+        long wallNanos;
+        long peakHeap;
+        try (HeapPeak heap = new HeapPeak()) {
+            long start = System.nanoTime();
+            App.convert(bean, recorder);
+            wallNanos = System.nanoTime() - start;
+            peakHeap = heap.get();
+        }
+        return new HarnessReport.Run(size, wallNanos, peakHeap, gcCount() - gcCount, gcMillis() - gcMillis, output.length(),
+                recorder.getStages());
+    }
+
+    private static WorkbookGenerator generator(int researchers) {
+        WorkbookGenerator generator = new WorkbookGenerator();
+        generator.setResearchers(researchers);
+        generator.setDepartments(Math.max(1, researchers / 50));
+        generator.setResearchGroups(Math.max(1, researchers / 20));
+        generator.setProjects(Math.max(1, researchers / 5));
+        generator.setPublications(researchers * 2);
+        return generator;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
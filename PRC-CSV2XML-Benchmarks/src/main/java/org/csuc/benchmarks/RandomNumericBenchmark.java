@@ -0,0 +1,39 @@
+package org.csuc.benchmarks;
+
+import org.csuc.global.RandomNumeric;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RandomNumeric#newId()} on a generator that already handed out a number of ids.
+ *
+ * @author amartinez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RandomNumericBenchmark {
+
+    @Param({"0", "100000", "1000000"})
+    public int ids;
+
+    private RandomNumeric randomNumeric;
+
+    /**
+     * A new generator per iteration, the ids of the previous one are not kept.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        randomNumeric = RandomNumeric.newInstance();
+        for (int i = 0; i < ids; i++) randomNumeric.newId();
+    }
+
+    @Benchmark
+    public String newId() {
+        return randomNumeric.newId();
+    }
+}
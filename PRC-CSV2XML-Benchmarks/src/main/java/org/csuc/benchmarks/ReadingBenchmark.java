@@ -0,0 +1,51 @@
+package org.csuc.benchmarks;
+
+import org.csuc.csv.Processors;
+import org.csuc.csv.Reading;
+import org.csuc.utils.SHEETS;
+import org.openjdk.jmh.annotations.*;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Reading#readWithCsvListReader(String, org.supercsv.cellprocessor.ift.CellProcessor[], int, CsvPreference)}
+ * of the publications sheet, the widest one.
+ *
+ * @author amartinez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReadingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private File file;
+    private CsvPreference csvPreference;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Datasets.csv(SHEETS.publications, rows);
+        csvPreference = (new CsvPreference.Builder('"', Datasets.DELIMITER, Datasets.END_OF_LINE)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<List<Object>> readWithCsvListReader() throws Exception {
+        // the unique column processors are stateful, a new set per read
+        return Reading.readWithCsvListReader(file.toString(), Processors.getProcessorsPublication(),
+                SHEETS.publications.columns(), csvPreference);
+    }
+}
@@ -0,0 +1,30 @@
+package org.csuc.benchmarks;
+
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Semantics#getClassId(ClassId)}, cycling through every class id.
+ *
+ * @author amartinez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SemanticsBenchmark {
+
+    private ClassId[] ids = ClassId.values();
+    private int next;
+
+    @Benchmark
+    public String getClassId() {
+        next = (next + 1) % ids.length;
+        return Semantics.getClassId(ids[next]);
+    }
+}
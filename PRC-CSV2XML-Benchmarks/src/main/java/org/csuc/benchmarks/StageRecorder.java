@@ -0,0 +1,45 @@
+package org.csuc.benchmarks;
+
+import org.csuc.utils.StageListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wall time and allocated bytes of every stage of a conversion, in the order the stages finish. The bytes are the
+ * ones allocated by the thread that runs the stage: with more than one thread the rows marshalled on the other
+ * threads of the pool are not counted.
+ *
+ * @author amartinez
+ */
+class StageRecorder implements StageListener {
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Map<String, long[]> started = new ConcurrentHashMap<>();
+    private Map<String, HarnessReport.Stage> stages = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @Override
+    public void started(String stage) {
+        started.put(stage, new long[]{System.nanoTime(), allocated()});
+    }
+
+    @Override
+    public void finished(String stage) {
+        long[] start = started.remove(stage);
+        stages.put(stage, new HarnessReport.Stage(System.nanoTime() - start[0], allocated() - start[1]));
+    }
+
+    Map<String, HarnessReport.Stage> getStages() {
+        synchronized (stages) {
+            return new LinkedHashMap<>(stages);
+        }
+    }
+
+    private static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,41 @@
+package org.csuc.benchmarks;
+
+import org.csuc.global.Time;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Time#formatDate(String)} cycling through a number of distinct dates: from always cached to never cached.
+ *
+ * @author amartinez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int dates;
+
+    private String[] values;
+    private int next;
+
+    @Setup
+    public void setup() {
+        LocalDate start = LocalDate.of(1900, 1, 1);
+        values = new String[dates];
+        for (int i = 0; i < dates; i++) values[i] = start.plusDays(i).toString();
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar formatDate() throws Exception {
+        next = (next + 1) % values.length;
+        return Time.formatDate(values[next]);
+    }
+}
@@ -0,0 +1,51 @@
+package org.csuc.benchmarks;
+
+import org.csuc.poi.XLSX2CSV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XLSX2CSV#execute()} of a workbook with the nine sheets, sequential and with one thread per sheet.
+ *
+ * @author amartinez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XLSX2CSVBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Datasets.workbook(rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int execute() throws Exception {
+        XLSX2CSV xlsx2CSV = new XLSX2CSV(file, Datasets.DELIMITER, Datasets.END_OF_LINE);
+        xlsx2CSV.setThreads(threads);
+        xlsx2CSV.execute();
+
+        int sheets = xlsx2CSV.getFiles().size();
+        xlsx2CSV.getFiles().values().forEach(File::delete);
+        return sheets;
+    }
+}
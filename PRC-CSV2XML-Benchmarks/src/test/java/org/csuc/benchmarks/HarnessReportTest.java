@@ -0,0 +1,133 @@
+package org.csuc.benchmarks;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class HarnessReportTest {
+
+    private static final long MS = 1_000_000;
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    public void growthLinear() {
+        HarnessReport report = report(run(1000, stage("publications", 100 * MS, 10 * MB)),
+                run(10000, stage("publications", 1200 * MS, 110 * MB)));
+        assertTrue(report.growth(3, 100 * MS).isEmpty());
+    }
+
+    @Test
+    public void growthQuadratic() {
+        HarnessReport report = report(run(1000, stage("publications", 100 * MS, 10 * MB)),
+                run(10000, stage("publications", 10_000 * MS, 1000 * MB)));
+        List<String> regressions = report.growth(3, 100 * MS);
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).startsWith("stage publications took"));
+        assertTrue(regressions.get(1).startsWith("stage publications allocated"));
+    }
+
+    @Test
+    public void growthSingleSize() {
+        HarnessReport report = report(run(1000, stage("publications", 100 * MS, 10 * MB)));
+        assertTrue(report.growth(3, 100 * MS).isEmpty());
+        assertTrue(new HarnessReport().growth(3, 100 * MS).isEmpty());
+    }
+
+    @Test
+    public void growthMissingStage() {
+        HarnessReport report = report(run(1000, stage("researchers", 10 * MS, MB)),
+                run(10000, stage("publications", 10_000 * MS, 1000 * MB)));
+        assertTrue(report.growth(3, 100 * MS).isEmpty());
+    }
+
+    @Test
+    public void growthZeroSmallest() {
+        HarnessReport report = report(run(1000, stage("publications", 0, 0)),
+                run(10000, stage("publications", 250 * MS, 2 * MB)));
+        assertTrue(report.growth(3, 100 * MS).isEmpty());
+
+        report = report(run(1000, stage("publications", 0, 0)),
+                run(10000, stage("publications", 400 * MS, 4 * MB)));
+        assertEquals(2, report.growth(3, 100 * MS).size());
+    }
+
+    @Test
+    public void regressions() {
+        HarnessReport baseline = report(run(1000, stage("publications", 200 * MS, 10 * MB)));
+
+        assertTrue(report(run(1000, stage("publications", 290 * MS, 14 * MB))).regressions(baseline, 1.5, 100 * MS).isEmpty());
+
+        List<String> regressions = report(run(1000, stage("publications", 310 * MS, 16 * MB))).regressions(baseline, 1.5, 100 * MS);
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).startsWith("size 1000: stage publications took 310 ms"));
+        assertTrue(regressions.get(1).startsWith("size 1000: stage publications allocated"));
+    }
+
+    @Test
+    public void regressionsMissing() {
+        HarnessReport baseline = report(run(1000, stage("researchers", 200 * MS, 10 * MB)));
+
+        // a stage or a size the baseline does not have is not compared
+        assertTrue(report(run(1000, stage("publications", 10_000 * MS, 1000 * MB))).regressions(baseline, 1.5, 100 * MS).isEmpty());
+        assertTrue(report(run(5000, stage("researchers", 10_000 * MS, 1000 * MB))).regressions(baseline, 1.5, 100 * MS).isEmpty());
+        assertTrue(report(run(1000, stage("researchers", 10_000 * MS, 1000 * MB))).regressions(new HarnessReport(), 1.5, 100 * MS).isEmpty());
+    }
+
+    @Test
+    public void regressionsZeroBaseline() {
+        HarnessReport baseline = report(run(1000, stage("publications", 0, 0)));
+
+        assertTrue(report(run(1000, stage("publications", 140 * MS, MB))).regressions(baseline, 1.5, 100 * MS).isEmpty());
+        assertEquals(2, report(run(1000, stage("publications", 160 * MS, 2 * MB))).regressions(baseline, 1.5, 100 * MS).size());
+    }
+
+    @Test
+    public void regressionsPeakHeap() {
+        HarnessReport baseline = report(new HarnessReport.Run(1000, 0, 100 * MB, 0, 0, 0, Collections.emptyMap()));
+
+        assertTrue(report(new HarnessReport.Run(1000, 0, 140 * MB, 0, 0, 0, Collections.emptyMap()))
+                .regressions(baseline, 1.5, 100 * MS).isEmpty());
+        assertEquals(1, report(new HarnessReport.Run(1000, 0, 160 * MB, 0, 0, 0, Collections.emptyMap()))
+                .regressions(baseline, 1.5, 100 * MS).size());
+    }
+
+    @Test
+    public void writeRead() throws Exception {
+        HarnessReport report = report(run(1000, stage("researchers", 10 * MS, MB), stage("publications", 100 * MS, 10 * MB)),
+                run(10000, stage("researchers", 100 * MS, 10 * MB), stage("publications", 1000 * MS, 100 * MB)));
+        File file = File.createTempFile("pipeline-report", ".json");
+        file.deleteOnExit();
+        report.write(file);
+
+        HarnessReport read = HarnessReport.read(file);
+        assertEquals(2, read.getRuns().size());
+        assertEquals(10000, read.getRuns().get(1).size);
+        assertEquals(1000 * MS, read.getRuns().get(1).stages.get("publications").nanos);
+        assertEquals(100 * MB, read.getRuns().get(1).stages.get("publications").allocatedBytes);
+        assertTrue(read.regressions(report, 1, 0).isEmpty());
+    }
+
+    private static HarnessReport report(HarnessReport.Run... runs) {
+        HarnessReport report = new HarnessReport();
+        for (HarnessReport.Run run : runs) report.add(run);
+        return report;
+    }
+
+    @SafeVarargs
+    private static HarnessReport.Run run(int size, Map.Entry<String, HarnessReport.Stage>... stages) {
+        Map<String, HarnessReport.Stage> measures = new LinkedHashMap<>();
+        for (Map.Entry<String, HarnessReport.Stage> stage : stages) measures.put(stage.getKey(), stage.getValue());
+        return new HarnessReport.Run(size, 0, 0, 0, 0, 0, measures);
+    }
+
+    private static Map.Entry<String, HarnessReport.Stage> stage(String name, long nanos, long allocatedBytes) {
+        return new AbstractMap.SimpleImmutableEntry<>(name, new HarnessReport.Stage(nanos, allocatedBytes));
+    }
+}
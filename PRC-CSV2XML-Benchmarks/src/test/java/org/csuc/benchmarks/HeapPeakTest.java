@@ -0,0 +1,20 @@
+package org.csuc.benchmarks;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class HeapPeakTest {
+
+    @Test
+    public void peak() {
+        try (HeapPeak heap = new HeapPeak()) {
+            byte[] allocated = new byte[64 * 1024 * 1024];
+            long peak = heap.get();
+            assertTrue(peak >= allocated.length);
+            assertTrue(peak <= ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted());
+        }
+    }
+}
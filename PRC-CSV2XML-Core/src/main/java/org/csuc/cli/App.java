@@ -1,24 +1,50 @@
 package org.csuc.cli;
 
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.io.IoBuilder;
 import org.csuc.csv.*;
+import org.csuc.jfr.JaxbWriteEvent;
 import org.csuc.marshal.*;
+import org.csuc.marshal.RowMarshalling.SheetEntity;
+import org.csuc.poi.SheetExtractor;
+import org.csuc.poi.StreamingXLSX2CSV;
 import org.csuc.poi.XLSX2CSV;
+import org.csuc.poi.XLSX2RowSource;
 import org.csuc.serialize.JaxbMarshal;
+import org.csuc.serialize.JaxbParallelWriter;
+import org.csuc.serialize.JaxbStreamWriter;
 import org.csuc.typesafe.semantics.ClassId;
 import org.csuc.typesafe.semantics.Semantics;
+import org.csuc.utils.ConversionProfile;
+import org.csuc.utils.OrderedOutput;
+import org.csuc.utils.SHEETS;
+import org.csuc.utils.StageListener;
+import org.csuc.utils.StageScheduler;
+import org.csuc.utils.StreamUtils;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.supercsv.prefs.CsvPreference;
 import xmlns.org.eurocris.cerif_1.*;
 
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -27,6 +53,16 @@ public class App {
 
     private static Logger logger = LogManager.getLogger("PRC-CSV2XML");
 
+    /**
+     * Stage that reads the workbook, before the stages of the sheets.
+     */
+    public static final String EXTRACT = "extract";
+
+    /**
+     * Stage that writes the researchers and closes the output, after the stages of the sheets.
+     */
+    public static final String WRITE = "write";
+
     private static ArgsBean bean;
 
     public static void main(String[] args) {
@@ -43,46 +79,89 @@ public class App {
             System.exit(1);
         }
 
-        XLSX2CSV xlsx2CSV = null;
         try {
-            xlsx2CSV = new XLSX2CSV(bean.getInput().toFile(), bean.getDelimiter(), bean.getEndOfLineSymbols());
-            xlsx2CSV.execute();
+            convert(bean, StageListener.NONE);
+        } catch (Exception e) {
+            logger.error(e);
+        }
+    }
 
-            xlsx2CSV.getFiles().forEach((key, value) -> {
-                try {
-                    switch (key) {
-                        case researchers:
-                            bean.setResearcher(value.toPath());
-                            break;
-                        case departments:
-                            bean.setDepartment(value.toPath());
-                            break;
-                        case departments_relations:
-                            bean.setRelationDepartment(value.toPath());
-                            break;
-                        case research_groups:
-                            bean.setResearcherGroup(value.toPath());
-                            break;
-                        case research_groups_relations:
-                            bean.setRelationResearcherGroup(value.toPath());
-                            break;
-                        case projects:
-                            bean.setProject(value.toPath());
-                            break;
-                        case projects_relations:
-                            bean.setRelationProject(value.toPath());
-                            break;
-                        case publications:
-                            bean.setPublication(value.toPath());
-                            break;
-                        case publication_relations:
-                            bean.setRelationPublication(value.toPath());
-                            break;
-                    }
-                } catch (FileNotFoundException e) {
-                    logger.error(e);
+    /**
+     * Converts the input workbook of the arguments. Besides the stages of the sheets, the listener is notified of the
+     * {@value #EXTRACT} stage, that reads the workbook, and the {@value #WRITE} stage, that writes the researchers and
+     * closes the output.
+     *
+     * @param bean     arguments, see {@link ArgsBean#parse(String...)}
+     * @param listener notified around every stage
+     * @throws Exception
+     */
+    public static void convert(ArgsBean bean, StageListener listener) throws Exception {
+        SheetExtractor xlsx2CSV = null;
+        ForkJoinPool pool = (bean.getThreads() > 1) ? new ForkJoinPool(bean.getThreads()) : null;
+        ConversionProfile profile = bean.isProfile() ? new ConversionProfile() : ConversionProfile.NONE;
+        Output output = new Output(bean, profile);
+        if (bean.isProfile()) listener = StageListener.all(profile, listener);
+        try {
+            CsvPreference csvPreference = (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build();
+            Map<SHEETS, RowSource> sources = new EnumMap<>(SHEETS.class);
+
+            listener.started(EXTRACT);
+            if (bean.isInMemory()) {
+                XLSX2RowSource xlsx2RowSource = new XLSX2RowSource(bean.getInput().toFile());
+                xlsx2RowSource.execute();
+                sources.putAll(xlsx2RowSource.getRowSources());
+            } else {
+                if (bean.isStreaming())
+                    xlsx2CSV = new StreamingXLSX2CSV(bean.getInput().toFile(), bean.getDelimiter(), bean.getEndOfLineSymbols());
+                else {
+                    XLSX2CSV dom = new XLSX2CSV(bean.getInput().toFile(), bean.getDelimiter(), bean.getEndOfLineSymbols());
+                    dom.setThreads(bean.getThreads());
+                    xlsx2CSV = dom;
                 }
-            });
+                xlsx2CSV.execute();
+
+                xlsx2CSV.getFiles().forEach((key, value) -> {
+                    try {
+                        switch (key) {
+                            case researchers:
+                                bean.setResearcher(value.toPath());
+                                break;
+                            case departments:
+                                bean.setDepartment(value.toPath());
+                                break;
+                            case departments_relations:
+                                bean.setRelationDepartment(value.toPath());
+                                break;
+                            case research_groups:
+                                bean.setResearcherGroup(value.toPath());
+                                break;
+                            case research_groups_relations:
+                                bean.setRelationResearcherGroup(value.toPath());
+                                break;
+                            case projects:
+                                bean.setProject(value.toPath());
+                                break;
+                            case projects_relations:
+                                bean.setRelationProject(value.toPath());
+                                break;
+                            case publications:
+                                bean.setPublication(value.toPath());
+                                break;
+                            case publication_relations:
+                                bean.setRelationPublication(value.toPath());
+                                break;
+                        }
+                        sources.put(key, bean.isTokenizer()
+                                ? new TokenizerRowSource(value.toString(), csvPreference, key)
+                                : new CsvRowSource(value.toString(), csvPreference, key));
+                    } catch (FileNotFoundException e) {
+                        logger.error(e);
+                    }
+                });
+                if (bean.isProfile())
+                    for (File file : xlsx2CSV.getFiles().values()) profile.stage(EXTRACT).bytesWritten(file.length());
+            }
+            listener.finished(EXTRACT);
 
             CERIF cerif = new CERIF();
 
@@ -91,130 +170,300 @@ public class App {
             cerif.setDate(DatatypeFactory.newInstance().newXMLGregorianCalendar(gregory));
             cerif.setSourceDatabase(bean.getRuct());
 
-            List<CfPersType> cfPersTypeList = new ArrayList<>();
+            ConversionContext context = new ConversionContext();
+            ConversionContext departmentsContext = context.stage();
+            ConversionContext researchGroupsContext = context.stage();
+            ConversionContext projectsContext = context.stage();
+            ConversionContext publicationsContext = context.stage();
+
+            OrderedOutput<SheetEntity> entities = new OrderedOutput<>(entity -> write(cerif, output.getWriter(), entity));
+            OrderedOutput<SheetEntity>.Channel departmentsOutput = entities.channel();
+            OrderedOutput<SheetEntity>.Channel researchGroupsOutput = entities.channel();
+            OrderedOutput<SheetEntity>.Channel projectsOutput = entities.channel();
+            OrderedOutput<SheetEntity>.Channel publicationsOutput = entities.channel();
+
+            StageScheduler scheduler = new StageScheduler(Objects.nonNull(pool) ? pool : Runnable::run, listener);
 
             //Researchers
-            logger.info("{}", bean.getResearcher());
-            CSVResearcher csvResearcher = new CSVResearcher(bean.getResearcher(),
-                    (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build());
-            if(Objects.isNull(csvResearcher.readCSV()))   throw new Exception("Researchers not content!");
-
-            csvResearcher.readCSV().forEach(researcher -> {
-                MarshalReseracher marshalReseracher =
-                        new MarshalReseracher(null, (String) researcher.get(0),
-                                null, (String) researcher.get(1),
-                                (String) researcher.get(2), null,
-                                (String) researcher.get(3), Semantics.getClassId(ClassId.CHECKED));
-                cfPersTypeList.add(marshalReseracher);
+            scheduler.stage("researchers", () -> {
+                RowSource researchers = source(sources, SHEETS.researchers, csvPreference);
+                logger.info("{}", researchers);
+                CSVResearcher csvResearcher = CSVResearcher.streaming(researchers);
+
+                ConversionProfile.Stage researchersProfile = profile.stage("researchers");
+                try (Stream<ResearcherRow> stream = csvResearcher.streamRows()) {
+                    RowMarshalling.rows(StreamUtils.numbered(stream.peek(researcher -> researchersProfile.rowsIn(1))), pool, researcher ->
+                            RowMarshalling.marshal(SHEETS.researchers, researcher.getKey(), researcher.getValue().getOrcid(), () ->
+                                    new MarshalReseracher(researcher.getValue(), Semantics.getClassId(ClassId.CHECKED), context.getRandomNumeric())),
+                            context::add);
+                }
+                researchersProfile.rowsOut(context.size());
+                researchersProfile.entities(context.size());
+                if(context.isEmpty())   throw new Exception("Researchers not content!");
+                output.open(cerif);
             });
 
             //OrgUnits (Department)
-            logger.info("{} - {}", bean.getDepartment(), bean.getRelationDepartment());
-            CSVDepartment csvDepartment = new CSVDepartment(bean.getDepartment(),
-                    bean.getRelationDepartment(),
-                    (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build());
-
-            Optional.ofNullable(csvDepartment.readCSV()).ifPresent(present-> present.forEach(department -> {
-                MarshalDepartment marshalDepartment =
-                        new MarshalDepartment(
-                                new NameOrTitle((String) department.get(0), null, null),
-                                (String) department.get(1),
-                                (String) department.get(2),
-                                (String) department.get(3),
-                                (String) department.get(4),
-                                (String) department.get(5),
-                                (String) department.get(6),
-                                csvDepartment.readCSVRelation(),
-                                cfPersTypeList
-                        );
-                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalDepartment);
-            }));
+            scheduler.stage("departments", () -> {
+                RowSource departments = source(sources, SHEETS.departments, csvPreference);
+                RowSource departmentsRelations = source(sources, SHEETS.departments_relations, csvPreference);
+                logger.info("{} - {}", departments, departmentsRelations);
+                CSVDepartment csvDepartment = CSVDepartment.from(departments, departmentsRelations);
+
+                RelationIndex relations = csvDepartment.readCSVRelationIndex();
+                ConversionProfile.Stage stage = profile.stage("departments");
+                if (stage.isEnabled()) stage.rowsIn(size(csvDepartment.readRelationRows()));
+
+                try (OrderedOutput<SheetEntity>.Channel out = departmentsOutput;
+                     Stream<DepartmentRow> stream = csvDepartment.streamRows()) {
+                    RowMarshalling.marshal(SHEETS.departments, stream, DepartmentRow::getCode, pool, context, departmentsContext, stage, (department, rowContext) ->
+                            new MarshalDepartment(department, relations.get(department.getCode()), rowContext), out);
+                }
+            }, "researchers");
 
             //OrgUnits (Research Group)
-            logger.info("{} - {}", bean.getResearcherGroup(), bean.getRelationResearcherGroup());
-            CSVResearchGroup csvResearchGroup = new CSVResearchGroup(bean.getResearcherGroup(),
-                    bean.getRelationResearcherGroup(),
-                    (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build());
-
-            Optional.ofNullable(csvResearchGroup.readCSV()).ifPresent(present-> present.forEach(group -> {
-                MarshalResearchGroup marshalResearchGroup = new MarshalResearchGroup(
-                        new NameOrTitle((String) group.get(0), null, null),
-                        (String) group.get(1),
-                        (String) group.get(2),
-                        (String) group.get(3),
-                        (String) group.get(4),
-                        (String) group.get(5),
-                        (String) group.get(6),
-                        csvResearchGroup.readCSVRelation(),
-                        cfPersTypeList
-                );
-                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalResearchGroup);
-                cfPersTypeList.addAll(marshalResearchGroup.getNewCfPersType());
-            }));
+            scheduler.stage("research_groups", () -> {
+                RowSource researchGroups = source(sources, SHEETS.research_groups, csvPreference);
+                RowSource researchGroupsRelations = source(sources, SHEETS.research_groups_relations, csvPreference);
+                logger.info("{} - {}", researchGroups, researchGroupsRelations);
+                CSVResearchGroup csvResearchGroup = CSVResearchGroup.from(researchGroups, researchGroupsRelations);
 
+                RelationIndex relations = csvResearchGroup.readCSVRelationIndex();
+                ConversionProfile.Stage stage = profile.stage("research_groups");
+                if (stage.isEnabled()) stage.rowsIn(size(csvResearchGroup.readRelationRows()));
+
+                try (OrderedOutput<SheetEntity>.Channel out = researchGroupsOutput;
+                     Stream<ResearchGroupRow> stream = csvResearchGroup.streamRows()) {
+                    RowMarshalling.marshal(SHEETS.research_groups, stream, ResearchGroupRow::getCode, pool, context, researchGroupsContext, stage, (group, rowContext) ->
+                            new MarshalResearchGroup(group, relations.get(group.getCode()), rowContext), out);
+                }
+            }, "researchers");
 
             //Projects
-            logger.info("{} - {}", bean.getProject(), bean.getRelationProject());
-            CSVProject csvProject = new CSVProject(bean.getProject(), bean.getRelationProject(),
-                    (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build());
-            Optional.ofNullable(csvProject.readCSV()).ifPresent(present-> present.forEach(project -> {
-                MarshalProject marshalProject = new MarshalProject(
-                        new NameOrTitle((String) project.get(0), null, null),
-                        (String) project.get(1),
-                        (String) project.get(2),
-                        (String) project.get(3),
-                        (String) project.get(4),
-                        (String) project.get(5),
-                        (String) project.get(6),
-                        csvProject.readCSVRelation(),
-                        cfPersTypeList
-                );
-                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalProject);
-                cfPersTypeList.addAll(marshalProject.getNewCfPersType());
-            }));
+            scheduler.stage("projects", () -> {
+                RowSource projects = source(sources, SHEETS.projects, csvPreference);
+                RowSource projectsRelations = source(sources, SHEETS.projects_relations, csvPreference);
+                logger.info("{} - {}", projects, projectsRelations);
+                CSVProject csvProject = CSVProject.streaming(projects, projectsRelations);
+
+                RelationIndex relations = csvProject.readCSVRelationIndex();
+                ConversionProfile.Stage stage = profile.stage("projects");
+                if (stage.isEnabled()) stage.rowsIn(size(csvProject.readRelationRows()));
+
+                try (OrderedOutput<SheetEntity>.Channel out = projectsOutput;
+                     Stream<ProjectRow> stream = csvProject.streamRows()) {
+                    RowMarshalling.marshal(SHEETS.projects, stream, ProjectRow::getCode, pool, context, projectsContext, stage, (project, rowContext) ->
+                            new MarshalProject(project, relations.get(project.getCode()), rowContext), out);
+                }
+            }, "researchers");
 
             //Publications
-            logger.info("{} - {}", bean.getPublication(), bean.getRelationPublication());
-            CSVPublication csvPublication = new CSVPublication(bean.getPublication(), bean.getRelationPublication(),
-                    (new CsvPreference.Builder('"', bean.getDelimiter(), bean.getEndOfLineSymbols())).build());
-
-            Optional.ofNullable(csvPublication.readCSV()).ifPresent(present-> present.forEach(publication -> {
-                MarshalPublication marshalPublication = new MarshalPublication(
-                        new NameOrTitle((String) publication.get(0), null, null),
-                        (String) publication.get(1),
-                        (String) publication.get(2),
-                        (String) publication.get(3),
-                        (String) publication.get(4),
-                        (String) publication.get(5),
-                        (String) publication.get(6),
-                        (String) publication.get(7),
-                        (String) publication.get(8),
-                        (String) publication.get(9),
-                        (String) publication.get(10),
-                        (String) publication.get(11),
-                        (String) publication.get(12),
-                        (String) publication.get(13),
-                        (String) publication.get(14),
-                        csvPublication.readCSVRelation(),
-                        cfPersTypeList
-                );
-                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalPublication);
-                cfPersTypeList.addAll(marshalPublication.getNewCfPersType());
-            }));
-
-            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().addAll(cfPersTypeList);
-
-            JaxbMarshal jxb = new JaxbMarshal(cerif, CERIF.class);
-            if (Objects.nonNull(bean.getOutput()))
-                jxb.marshaller(new FileOutputStream(bean.getOutput().toFile()), bean.getCharset(), bean.getFormatted(), false);
-            else
-                jxb.marshaller(IoBuilder.forLogger(App.class).setLevel(Level.INFO).buildOutputStream(), bean.getCharset(), bean.getFormatted(), false);
+            scheduler.stage("publications", () -> {
+                RowSource publications = source(sources, SHEETS.publications, csvPreference);
+                RowSource publicationsRelations = source(sources, SHEETS.publication_relations, csvPreference);
+                logger.info("{} - {}", publications, publicationsRelations);
+                CSVPublication csvPublication = CSVPublication.streaming(publications, publicationsRelations);
+
+                RelationIndex relations = csvPublication.readCSVRelationIndex();
+                ConversionProfile.Stage stage = profile.stage("publications");
+                if (stage.isEnabled()) stage.rowsIn(size(csvPublication.readRelationRows()));
+
+                try (OrderedOutput<SheetEntity>.Channel out = publicationsOutput;
+                     Stream<PublicationRow> stream = csvPublication.streamRows()) {
+                    RowMarshalling.marshal(SHEETS.publications, stream, PublicationRow::getId, pool, context, publicationsContext, stage, (publication, rowContext) ->
+                            new MarshalPublication(publication, relations.get(publication.getId()), rowContext), out);
+                }
+            }, "researchers");
+
+            //Unchecked persons, in the order the stages would have created them one after another
+            scheduler.stage("unchecked", () -> {
+                int researchers = context.size();
+                context.addAll(departmentsContext);
+                context.addAll(researchGroupsContext);
+                context.addAll(projectsContext);
+                context.addAll(publicationsContext);
+                profile.stage("unchecked").rowsIn(context.size() - researchers);
+                profile.stage("unchecked").rowsOut(context.size() - researchers);
+            }, "departments", "research_groups", "projects", "publications");
+
+            scheduler.await();
+
+            listener.started(WRITE);
+            for (CfPersType pers : context) write(cerif, output.getWriter(), new SheetEntity(null, 0, pers.getCfPersId(), pers));
+            profile.stage(WRITE).rowsIn(context.size());
+            profile.stage(WRITE).rowsOut(context.size());
+
+            if (Objects.nonNull(output.getWriter())) {
+                output.getWriter().close();
+            } else {
+                JaxbWriteEvent event = new JaxbWriteEvent();
+                event.begin();
+                JaxbMarshal jxb = new JaxbMarshal(cerif, CERIF.class);
+                jxb.marshaller(output.open(cerif), bean.getCharset(), bean.getFormatted(), false);
+                if (event.shouldCommit()) {
+                    event.element = "CERIF";
+                    event.commit();
+                }
+            }
+            output.done();
+            listener.finished(WRITE);
 
             logger.info("Done");
-        } catch (Exception e) {
-            logger.error(e);
-        }finally {
-            if(bean.isDeleteOnExit())   xlsx2CSV.deleteOnExit();
+        } finally {
+            if (bean.isProfile()) {
+                logger.info("Profile:{}{}", System.lineSeparator(), profile.summary());
+                try {
+                    if (Objects.nonNull(bean.getProfileJson())) profile.write(bean.getProfileJson().toFile());
+                } catch (IOException e) {
+                    logger.error(e);
+                }
+            }
+            if(Objects.nonNull(pool))   pool.shutdownNow();
+            if(bean.isDeleteOnExit() && Objects.nonNull(xlsx2CSV))   xlsx2CSV.deleteOnExit();
+            output.close();
+        }
+    }
+
+    /**
+     * Output of a conversion, not opened until the researchers are read, as the whole tree used to be written at the
+     * end. A file left by a conversion that fails afterwards is deleted, so it is either complete or missing.
+     */
+    private static class Output implements AutoCloseable {
+
+        private ArgsBean bean;
+        private ConversionProfile profile;
+
+        private OutputStream stream;
+        private volatile JaxbStreamWriter writer;
+        private boolean done = false;
+
+        Output(ArgsBean bean, ConversionProfile profile) {
+            this.bean = bean;
+            this.profile = profile;
+        }
+
+        /**
+         * Opens the output, and the CERIF root element unless the tree is marshalled at once ({@code -f}).
+         *
+         * @param cerif root attributes
+         * @return the output stream
+         * @throws Exception
+         */
+        synchronized OutputStream open(CERIF cerif) throws Exception {
+            if (Objects.nonNull(stream)) return stream;
+            stream = Objects.nonNull(bean.getOutput())
+                    ? new FileOutputStream(bean.getOutput().toFile())
+                    : IoBuilder.forLogger(App.class).setLevel(Level.INFO).buildOutputStream();
+            if (bean.isProfile()) {
+                CountingOutputStream counting = new CountingOutputStream(stream);
+                profile.setOutput(counting::getByteCount);
+                stream = counting;
+            }
+            if (!bean.getFormatted()) writer = App.open(cerif, stream, bean.getCharset(), bean.getThreads());
+            return stream;
+        }
+
+        /**
+         * @return the streaming writer, {@code null} before {@link #open(CERIF)} or if the tree is marshalled at once
+         */
+        JaxbStreamWriter getWriter() {
+            return writer;
+        }
+
+        /**
+         * The output is complete, keep it.
+         */
+        synchronized void done() {
+            done = true;
+        }
+
+        /**
+         * Closes the output, and deletes the file if the conversion did not finish.
+         */
+        @Override
+        public synchronized void close() {
+            if (Objects.isNull(stream)) return;
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.error(e);
+            }
+            if (!done && Objects.nonNull(bean.getOutput())) {
+                try {
+                    if (Files.deleteIfExists(bean.getOutput())) logger.info("Incomplete output {} deleted", bean.getOutput());
+                } catch (IOException e) {
+                    logger.error(e);
+                }
+            }
         }
     }
+
+    /**
+     * Opens the CERIF root element on the output. Entities are then written as soon as they are created, byte for
+     * byte as the whole tree would be marshalled.
+     *
+     * @param cerif   root attributes
+     * @param output
+     * @param charset
+     * @param threads marshalling threads, more than one marshals the entities in parallel keeping their order
+     * @return
+     * @throws Exception
+     */
+    private static JaxbStreamWriter open(CERIF cerif, OutputStream output, Charset charset, int threads) throws Exception {
+        XMLGregorianCalendar date = (XMLGregorianCalendar) cerif.getDate().clone();
+        date.setTime(DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED);
+        date.setMillisecond(DatatypeConstants.FIELD_UNDEFINED);
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("date", date.toXMLFormat());
+        attributes.put("sourceDatabase", cerif.getSourceDatabase());
+        QName root = new QName(FactoryCERIF.NAMESPACE, "CERIF");
+        if (threads > 1) return new JaxbParallelWriter(output, charset, root, attributes, threads, CERIF.class);
+        return new JaxbStreamWriter(output, charset, root, attributes, CERIF.class);
+    }
+
+    /**
+     * Writes the entity, or adds it to the CERIF tree when there is no streaming writer.
+     *
+     * @param cerif
+     * @param writer
+     * @param entity
+     */
+    private static void write(CERIF cerif, JaxbStreamWriter writer, SheetEntity entity) {
+        if (Objects.isNull(writer)) {
+            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(entity.getValue());
+            return;
+        }
+        JaxbWriteEvent event = new JaxbWriteEvent();
+        event.begin();
+        JAXBElement<?> element = FactoryCERIF.createElement(entity.getValue());
+        try {
+            writer.write(element);
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+        if (event.shouldCommit()) {
+            event.sheet = Objects.isNull(entity.getSheet()) ? null : entity.getSheet().name();
+            event.row = entity.getRow();
+            event.entityId = entity.getId();
+            event.element = element.getName().getLocalPart();
+            event.commit();
+        }
+    }
+
+    private static int size(List<?> rows) {
+        return Objects.isNull(rows) ? 0 : rows.size();
+    }
+
+    /**
+     * Rows of the sheet, or an empty source if the workbook does not contain it.
+     *
+     * @param sources
+     * @param sheet
+     * @param csvPreference
+     * @return
+     */
+    private static RowSource source(Map<SHEETS, RowSource> sources, SHEETS sheet, CsvPreference csvPreference) {
+        return sources.getOrDefault(sheet, new CsvRowSource(null, csvPreference));
+    }
 }
\ No newline at end of file
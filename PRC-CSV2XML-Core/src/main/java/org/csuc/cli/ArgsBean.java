@@ -4,6 +4,8 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.typesafe.altres.Altres;
+import org.csuc.typesafe.ruct.Ruct;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
@@ -62,9 +64,43 @@ public class ArgsBean {
     @Option(name= "--deleteOnExit", aliases = "--deleteOnExit", handler=BooleanOptionHandler.class, usage= "deleteOnExit temporal files")
     private boolean deleteOnExit = false;
 
+    @Option(name = "-s", aliases = "--streaming", handler=BooleanOptionHandler.class, usage= "streaming (SAX) read of the input file")
+    private boolean streaming = false;
+
+    @Option(name = "-m", aliases = "--inMemory", handler=BooleanOptionHandler.class, usage= "read the input file into memory, without temporal files")
+    private boolean inMemory = false;
+
+    @Option(name = "--tokenizer", aliases = "--tokenizer", handler=BooleanOptionHandler.class, usage= "read the temporal CSV files with the built-in tokenizer instead of Super CSV")
+    private boolean tokenizer = false;
+
+    @Option(name = "-t", aliases = "--threads", usage= "conversion threads, for concurrent sheets and marshalling", metaVar = "<int>")
+    private int threads = 1;
+
+    @Option(name = "--profile", aliases = "--profile", handler=BooleanOptionHandler.class, usage= "log the duration and the counters of every stage")
+    private boolean profile = false;
+
+    @Option(name = "--profileJson", aliases = "--profileJson", usage= "write the duration and the counters of every stage as JSON, implies --profile", metaVar = "<Path>")
+    private Path profileJson;
+
     @Option(name = "-ruct", aliases = "--ruct", usage= "ruct code", required = true, metaVar = "https://www.educacion.gob.es/ruct/home")
     private String ruct;
 
+    private ArgsBean() {
+    }
+
+    /**
+     * Parses the arguments without logging them nor waiting for the user, for conversions run from code.
+     *
+     * @param args command line arguments
+     * @return
+     * @throws CmdLineException
+     */
+    public static ArgsBean parse(String... args) throws CmdLineException {
+        ArgsBean bean = new ArgsBean();
+        new CmdLineParser(bean).parseArgument(args);
+        return bean;
+    }
+
     public ArgsBean(String[] args){
         CmdLineParser parser = new CmdLineParser(this);
 
@@ -257,6 +293,55 @@ public class ArgsBean {
         this.deleteOnExit = deleteOnExit;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isInMemory() {
+        return inMemory;
+    }
+
+    public void setInMemory(boolean inMemory) {
+        this.inMemory = inMemory;
+    }
+
+    public boolean isTokenizer() {
+        return tokenizer;
+    }
+
+    public void setTokenizer(boolean tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        if(threads < 1) throw new IllegalArgumentException(MessageFormat.format("{0} illegal number of threads!", threads));
+        this.threads = threads;
+    }
+
+    public boolean isProfile() {
+        return profile || Objects.nonNull(profileJson);
+    }
+
+    public void setProfile(boolean profile) {
+        this.profile = profile;
+    }
+
+    public Path getProfileJson() {
+        return profileJson;
+    }
+
+    public void setProfileJson(Path profileJson) {
+        this.profileJson = profileJson;
+    }
+
     /**
      *
      */
@@ -269,6 +354,7 @@ public class ArgsBean {
 
     public void run(){
         logger.info("Ruct                        :   {}", ruct);
+        logger.info("Institution                 :   {}", Objects.nonNull(Ruct.getName(ruct)) ? Ruct.getName(ruct) : Altres.getName(ruct));
         logger.info("Input file                  :   {}", input);
         logger.info("Output file                 :   {}", output);
         logger.info("Charset file                :   {}", charset);
@@ -276,5 +362,10 @@ public class ArgsBean {
         logger.info("Delimiter char              :   {}", delimiter);
         logger.info("EndOfLineSymbols            :   {}", StringEscapeUtils.escapeJava(endOfLineSymbols));
         logger.info("DeleteOnExit                :   {}", deleteOnExit);
+        logger.info("Streaming                   :   {}", streaming);
+        logger.info("InMemory                    :   {}", inMemory);
+        logger.info("Tokenizer                   :   {}", tokenizer);
+        logger.info("Threads                     :   {}", threads);
+        logger.info("Profile                     :   {}", Objects.nonNull(profileJson) ? profileJson : profile);
     }
 }
@@ -0,0 +1,134 @@
+package org.csuc.cli;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.csuc.poi.WorkbookGenerator;
+import org.csuc.utils.SHEETS;
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.kohsuke.args4j.spi.CharOptionHandler;
+import org.kohsuke.args4j.spi.StringOptionHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * Writes a synthetic PRC workbook, and optionally the matching CSV files, with {@link WorkbookGenerator}.
+ *
+ * @author amartinez
+ */
+public class Generator {
+
+    private static Logger logger = LogManager.getLogger(Generator.class);
+
+    @Option(name="-h", aliases = "--help", help = true)
+    private boolean help = false;
+
+    @Option(name = "-o", aliases = "--output", usage= "output workbook", metaVar = "<Path>")
+    private Path output = Paths.get("/tmp/PRC.xlsx");
+
+    @Option(name = "--csv", aliases = "--csv", usage= "directory for the CSV files of the sheets", metaVar = "<Path>")
+    private Path csv;
+
+    @Option(name = "-d", aliases = "--delimiter", usage= "delimiter char of the CSV files", metaVar = "<char>", handler = CharOptionHandler.class)
+    private char delimiter = ';';
+
+    @Option(name = "-l", aliases = "--endOfLine", usage= "End Of Line Symbols of the CSV files", metaVar = "<String>", handler = StringOptionHandler.class)
+    private String endOfLineSymbols = "\n";
+
+    @Option(name = "--researchers", aliases = "--researchers", usage= "researchers", metaVar = "<int>")
+    private int researchers = 1000;
+
+    @Option(name = "--departments", aliases = "--departments", usage= "departments, institutes and schools", metaVar = "<int>")
+    private int departments = 20;
+
+    @Option(name = "--groups", aliases = "--groups", usage= "research groups", metaVar = "<int>")
+    private int researchGroups = 50;
+
+    @Option(name = "--projects", aliases = "--projects", usage= "research projects", metaVar = "<int>")
+    private int projects = 200;
+
+    @Option(name = "--publications", aliases = "--publications", usage= "publications", metaVar = "<int>")
+    private int publications = 2000;
+
+    @Option(name = "--departmentMembers", aliases = "--departmentMembers", usage= "researchers per department, on average", metaVar = "<int>")
+    private int departmentMembers = 20;
+
+    @Option(name = "--groupMembers", aliases = "--groupMembers", usage= "researchers per research group, on average", metaVar = "<int>")
+    private int groupMembers = 8;
+
+    @Option(name = "--projectMembers", aliases = "--projectMembers", usage= "researchers per project, on average", metaVar = "<int>")
+    private int projectMembers = 4;
+
+    @Option(name = "--authors", aliases = "--authors", usage= "authors per publication, on average", metaVar = "<int>")
+    private int authors = 5;
+
+    @Option(name = "--orcidRatio", aliases = "--orcidRatio", usage= "share of group, project and publication relations with ORCID, the other ones are unchecked persons", metaVar = "<double>")
+    private double orcidRatio = 0.9;
+
+    @Option(name = "--seed", aliases = "--seed", usage= "seed of the generated data", metaVar = "<long>")
+    private long seed = 0;
+
+    public static void main(String[] args) {
+        new Generator().doMain(args);
+    }
+
+    private void doMain(String[] args) {
+        CmdLineParser parser = new CmdLineParser(this);
+        try {
+            parser.setUsageWidth(500);
+            parser.parseArgument(args);
+        } catch (CmdLineException e) {
+            System.err.println(e.getMessage());
+            parser.printUsage(System.err);
+            System.err.println();
+            System.exit(1);
+        }
+
+        if (help) {
+            System.err.println("Usage: ");
+            parser.printUsage(System.err);
+            System.err.println();
+            System.exit(1);
+        }
+
+        try {
+            if (!FilenameUtils.getExtension(output.toString()).equalsIgnoreCase("xlsx"))
+                throw new IllegalArgumentException(MessageFormat.format("{0} illegal extension!", FilenameUtils.getExtension(output.toString())));
+
+            WorkbookGenerator generator = new WorkbookGenerator();
+            generator.setResearchers(researchers);
+            generator.setDepartments(departments);
+            generator.setResearchGroups(researchGroups);
+            generator.setProjects(projects);
+            generator.setPublications(publications);
+            generator.setFanOut(SHEETS.departments_relations, departmentMembers);
+            generator.setFanOut(SHEETS.research_groups_relations, groupMembers);
+            generator.setFanOut(SHEETS.projects_relations, projectMembers);
+            generator.setFanOut(SHEETS.publication_relations, authors);
+            generator.setOrcidRatio(orcidRatio);
+            generator.setSeed(seed);
+
+            long start = System.nanoTime();
+            generator.writeWorkbook(output.toFile());
+            logger.info("Workbook                    :   {}", output);
+
+            if (Objects.nonNull(csv)) {
+                Files.createDirectories(csv);
+                for (File file : generator.writeCSV(csv.toFile(), delimiter, endOfLineSymbols).values())
+                    logger.info("CSV file                    :   {}", file);
+            }
+            logger.info("Generated in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            logger.error(e);
+            System.exit(1);
+        }
+    }
+}
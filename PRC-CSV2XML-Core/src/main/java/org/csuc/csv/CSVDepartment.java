@@ -2,9 +2,12 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.utils.SHEETS;
 import org.supercsv.prefs.CsvPreference;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -14,43 +17,82 @@ public class CSVDepartment implements Read<List<List<Object>>>{
     private static Logger logger = LogManager.getLogger(CSVDepartment.class);
 
     private List<List<Object>> data;
-    private List<List<Object>> dataRelation;
+    private List<RelationRow> relationRows;
+    private RelationIndex relationIndex;
 
-    private String file;
-    private String fileRelation;
+    private RowSource source;
+    private RowSource sourceRelation;
 
     public CSVDepartment(String file, String relation) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
-
-        logger.debug("Department file:           {}", this.file);
-        logger.debug("Department Relation file:  {}", this.fileRelation);
-
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsDepartment(), 7);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsDepartmentRelation(), 2);
+        this(new CsvRowSource(file, SHEETS.departments), new CsvRowSource(relation, SHEETS.departments_relations));
     }
 
-    //char quoteChar, int delimiterChar, String endOfLineSymbols
     public CSVDepartment(String file, String relation, CsvPreference csvPreference) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
+        this(new CsvRowSource(file, csvPreference, SHEETS.departments), new CsvRowSource(relation, csvPreference, SHEETS.departments_relations));
+    }
 
-        logger.debug("Department file:           {}", this.file);
-        logger.debug("Department Relation file:  {}", this.fileRelation);
+    private CSVDepartment(RowSource source, RowSource relation) throws Exception {
+        this.source = source;
+        this.sourceRelation = relation;
 
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsDepartment(), 7, csvPreference);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsDepartmentRelation(), 2, csvPreference);
+        logger.debug("Department file:           {}", this.source);
+        logger.debug("Department Relation file:  {}", this.sourceRelation);
+
+        data = this.source.read(Processors.getProcessorsDepartment(), 7);
+        relationRows = RelationRow.read(this.sourceRelation.stream(Processors.getProcessorsDepartmentRelation(), 2), RelationRow::ofDepartment);
     }
 
+    /**
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVDepartment from(RowSource source, RowSource relation) throws Exception {
+        return new CSVDepartment(source, relation);
+    }
 
     @Override
     public List<List<Object>> readCSV() {
         return data;
     }
 
+    /**
+     * Rows of the relation sheet, built from {@link #readRelationRows()} on every call: only the relation rows are kept.
+     *
+     * @return
+     */
     @Override
     public List<List<Object>> readCSVRelation() {
-        return dataRelation;
+        return RelationRow.unmap(relationRows, RelationRow::toDepartmentList);
     }
 
+    /**
+     * Rows of {@link #streamCSV()} as {@link DepartmentRow}.
+     *
+     * @return
+     * @throws Exception
+     */
+    public Stream<DepartmentRow> streamRows() throws Exception {
+        return streamCSV().map(DepartmentRow::of);
+    }
+
+    /**
+     * Rows of the relation sheet as {@link RelationRow}, mapped while the sheet is read.
+     *
+     * @return the rows or {@code null} if there are none
+     */
+    public List<RelationRow> readRelationRows() {
+        return relationRows;
+    }
+
+    /**
+     * Rows of {@link #readRelationRows()} grouped by the code of their entity, built on first use.
+     *
+     * @return
+     */
+    public RelationIndex readCSVRelationIndex() {
+        if (Objects.isNull(relationIndex)) relationIndex = new RelationIndex(readRelationRows());
+        return relationIndex;
+    }
 }
@@ -2,9 +2,12 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.utils.SHEETS;
 import org.supercsv.prefs.CsvPreference;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -14,41 +17,113 @@ public class CSVProject implements Read<List<List<Object>>> {
     private static Logger logger = LogManager.getLogger(CSVProject.class);
 
     private List<List<Object>> data;
-    private List<List<Object>> dataRelation;
-
-    private String file;
-    private String fileRelation;
+    private List<RelationRow> relationRows;
+    private RelationIndex relationIndex;
 
+    private RowSource source;
+    private boolean loaded;
+    private RowSource sourceRelation;
 
     public CSVProject(String file, String relation) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
-
-        logger.debug("Project file:           {}", this.file);
-        logger.debug("Project Relation file:  {}", this.fileRelation);
-
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsProject(), 7);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsProjectRelation(), 4);
+        this(new CsvRowSource(file, SHEETS.projects), new CsvRowSource(relation, SHEETS.projects_relations), true);
     }
 
     public CSVProject(String file, String relation, CsvPreference csvPreference) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
+        this(new CsvRowSource(file, csvPreference, SHEETS.projects), new CsvRowSource(relation, csvPreference, SHEETS.projects_relations), true);
+    }
+
+    private CSVProject(RowSource source, RowSource relation, boolean eager) throws Exception {
+        this.source = source;
+        this.sourceRelation = relation;
 
-        logger.debug("Project file:           {}", this.file);
-        logger.debug("Project Relation file:  {}", this.fileRelation);
+        logger.debug("Project file:           {}", this.source);
+        logger.debug("Project Relation file:  {}", this.sourceRelation);
+
+        if (eager) {
+            data = this.source.read(Processors.getProcessorsProject(), 7);
+            loaded = true;
+        }
+        relationRows = RelationRow.read(this.sourceRelation.stream(Processors.getProcessorsProjectRelation(), 4), RelationRow::of);
+    }
+
+    /**
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVProject from(RowSource source, RowSource relation) throws Exception {
+        return new CSVProject(source, relation, true);
+    }
 
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsProject(), 7, csvPreference);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsProjectRelation(), 4, csvPreference);
+    /**
+     * Same as {@link #from(RowSource, RowSource)} but the rows of the sheet are not read until {@link #streamCSV()}
+     * (or {@link #readCSV()}) is called. The relation sheet is read at once.
+     *
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVProject streaming(RowSource source, RowSource relation) throws Exception {
+        return new CSVProject(source, relation, false);
     }
 
     @Override
     public List<List<Object>> readCSV() {
+        if (!loaded) {
+            try {
+                data = source.read(Processors.getProcessorsProject(), 7);
+            } catch (Exception e) {
+                logger.error(e);
+            }
+            loaded = true;
+        }
         return data;
     }
 
+    @Override
+    public Stream<List<Object>> streamCSV() throws Exception {
+        if (loaded) return Objects.isNull(data) ? Stream.empty() : data.stream();
+        return source.stream(Processors.getProcessorsProject(), 7);
+    }
+
+    /**
+     * Rows of the relation sheet, built from {@link #readRelationRows()} on every call: only the relation rows are kept.
+     *
+     * @return
+     */
     @Override
     public List<List<Object>> readCSVRelation() {
-        return dataRelation;
+        return RelationRow.unmap(relationRows, RelationRow::toList);
+    }
+
+    /**
+     * Rows of {@link #streamCSV()} as {@link ProjectRow}.
+     *
+     * @return
+     * @throws Exception
+     */
+    public Stream<ProjectRow> streamRows() throws Exception {
+        return streamCSV().map(ProjectRow::of);
+    }
+
+    /**
+     * Rows of the relation sheet as {@link RelationRow}, mapped while the sheet is read.
+     *
+     * @return the rows or {@code null} if there are none
+     */
+    public List<RelationRow> readRelationRows() {
+        return relationRows;
+    }
+
+    /**
+     * Rows of {@link #readRelationRows()} grouped by the code of their entity, built on first use.
+     *
+     * @return
+     */
+    public RelationIndex readCSVRelationIndex() {
+        if (Objects.isNull(relationIndex)) relationIndex = new RelationIndex(readRelationRows());
+        return relationIndex;
     }
 }
@@ -2,9 +2,12 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.utils.SHEETS;
 import org.supercsv.prefs.CsvPreference;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -14,41 +17,113 @@ public class CSVPublication implements Read<List<List<Object>>> {
     private static Logger logger = LogManager.getLogger(CSVPublication.class);
 
     private List<List<Object>> data;
-    private List<List<Object>> dataRelation;
-
-    private String file;
-    private String fileRelation;
+    private List<RelationRow> relationRows;
+    private RelationIndex relationIndex;
 
+    private RowSource source;
+    private boolean loaded;
+    private RowSource sourceRelation;
 
     public CSVPublication(String file, String relation) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
-
-        logger.debug("Publication file:           {}", this.file);
-        logger.debug("Publication Relation file:  {}", this.fileRelation);
-
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsPublication(), 15);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsPublicationRelation(), 4);
+        this(new CsvRowSource(file, SHEETS.publications), new CsvRowSource(relation, SHEETS.publication_relations), true);
     }
 
     public CSVPublication(String file, String relation, CsvPreference csvPreference) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
+        this(new CsvRowSource(file, csvPreference, SHEETS.publications), new CsvRowSource(relation, csvPreference, SHEETS.publication_relations), true);
+    }
+
+    private CSVPublication(RowSource source, RowSource relation, boolean eager) throws Exception {
+        this.source = source;
+        this.sourceRelation = relation;
 
-        logger.debug("Publication file:           {}", this.file);
-        logger.debug("Publication Relation file:  {}", this.fileRelation);
+        logger.debug("Publication file:           {}", this.source);
+        logger.debug("Publication Relation file:  {}", this.sourceRelation);
+
+        if (eager) {
+            data = this.source.read(Processors.getProcessorsPublication(), 15);
+            loaded = true;
+        }
+        relationRows = RelationRow.read(this.sourceRelation.stream(Processors.getProcessorsPublicationRelation(), 4), RelationRow::of);
+    }
+
+    /**
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVPublication from(RowSource source, RowSource relation) throws Exception {
+        return new CSVPublication(source, relation, true);
+    }
 
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsPublication(), 15, csvPreference);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsPublicationRelation(), 4, csvPreference);
+    /**
+     * Same as {@link #from(RowSource, RowSource)} but the rows of the sheet are not read until {@link #streamCSV()}
+     * (or {@link #readCSV()}) is called. The relation sheet is read at once.
+     *
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVPublication streaming(RowSource source, RowSource relation) throws Exception {
+        return new CSVPublication(source, relation, false);
     }
 
     @Override
     public List<List<Object>> readCSV() {
+        if (!loaded) {
+            try {
+                data = source.read(Processors.getProcessorsPublication(), 15);
+            } catch (Exception e) {
+                logger.error(e);
+            }
+            loaded = true;
+        }
         return data;
     }
 
+    @Override
+    public Stream<List<Object>> streamCSV() throws Exception {
+        if (loaded) return Objects.isNull(data) ? Stream.empty() : data.stream();
+        return source.stream(Processors.getProcessorsPublication(), 15);
+    }
+
+    /**
+     * Rows of the relation sheet, built from {@link #readRelationRows()} on every call: only the relation rows are kept.
+     *
+     * @return
+     */
     @Override
     public List<List<Object>> readCSVRelation() {
-        return dataRelation;
+        return RelationRow.unmap(relationRows, RelationRow::toList);
+    }
+
+    /**
+     * Rows of {@link #streamCSV()} as {@link PublicationRow}.
+     *
+     * @return
+     * @throws Exception
+     */
+    public Stream<PublicationRow> streamRows() throws Exception {
+        return streamCSV().map(PublicationRow::of);
+    }
+
+    /**
+     * Rows of the relation sheet as {@link RelationRow}, mapped while the sheet is read.
+     *
+     * @return the rows or {@code null} if there are none
+     */
+    public List<RelationRow> readRelationRows() {
+        return relationRows;
+    }
+
+    /**
+     * Rows of {@link #readRelationRows()} grouped by the code of their entity, built on first use.
+     *
+     * @return
+     */
+    public RelationIndex readCSVRelationIndex() {
+        if (Objects.isNull(relationIndex)) relationIndex = new RelationIndex(readRelationRows());
+        return relationIndex;
     }
 }
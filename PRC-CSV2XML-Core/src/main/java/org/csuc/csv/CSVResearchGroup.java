@@ -2,9 +2,12 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.utils.SHEETS;
 import org.supercsv.prefs.CsvPreference;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -14,42 +17,82 @@ public class CSVResearchGroup implements Read<List<List<Object>>> {
     private static Logger logger = LogManager.getLogger(CSVResearchGroup.class);
 
     private List<List<Object>> data;
-    private List<List<Object>> dataRelation;
+    private List<RelationRow> relationRows;
+    private RelationIndex relationIndex;
 
-    private String file;
-    private String fileRelation;
+    private RowSource source;
+    private RowSource sourceRelation;
 
     public CSVResearchGroup(String file, String relation) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
-
-        logger.debug("Research Group file:           {}", this.file);
-        logger.debug("Research Group file:  {}", this.fileRelation);
-
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsResearchGroup(), 7);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsResearchGroupRelation(), 4);
+        this(new CsvRowSource(file, SHEETS.research_groups), new CsvRowSource(relation, SHEETS.research_groups_relations));
     }
 
     public CSVResearchGroup(String file, String relation, CsvPreference csvPreference) throws Exception {
-        this.file = file;
-        this.fileRelation = relation;
+        this(new CsvRowSource(file, csvPreference, SHEETS.research_groups), new CsvRowSource(relation, csvPreference, SHEETS.research_groups_relations));
+    }
 
-        logger.debug("Research Group file:           {}", this.file);
-        logger.debug("Research Group file:  {}", this.fileRelation);
+    private CSVResearchGroup(RowSource source, RowSource relation) throws Exception {
+        this.source = source;
+        this.sourceRelation = relation;
 
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsResearchGroup(), 7, csvPreference);
-        dataRelation = Reading.readWithCsvListReader(this.fileRelation, Processors.getProcessorsResearchGroupRelation(), 4, csvPreference);
+        logger.debug("Research Group file:           {}", this.source);
+        logger.debug("Research Group file:  {}", this.sourceRelation);
+
+        data = this.source.read(Processors.getProcessorsResearchGroup(), 7);
+        relationRows = RelationRow.read(this.sourceRelation.stream(Processors.getProcessorsResearchGroupRelation(), 4), RelationRow::of);
     }
 
+    /**
+     * @param source   rows of the sheet
+     * @param relation rows of the relation sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVResearchGroup from(RowSource source, RowSource relation) throws Exception {
+        return new CSVResearchGroup(source, relation);
+    }
 
     @Override
     public List<List<Object>> readCSV() {
         return data;
     }
 
+    /**
+     * Rows of the relation sheet, built from {@link #readRelationRows()} on every call: only the relation rows are kept.
+     *
+     * @return
+     */
     @Override
     public List<List<Object>> readCSVRelation() {
-        return dataRelation;
+        return RelationRow.unmap(relationRows, RelationRow::toList);
     }
 
+    /**
+     * Rows of {@link #streamCSV()} as {@link ResearchGroupRow}.
+     *
+     * @return
+     * @throws Exception
+     */
+    public Stream<ResearchGroupRow> streamRows() throws Exception {
+        return streamCSV().map(ResearchGroupRow::of);
+    }
+
+    /**
+     * Rows of the relation sheet as {@link RelationRow}, mapped while the sheet is read.
+     *
+     * @return the rows or {@code null} if there are none
+     */
+    public List<RelationRow> readRelationRows() {
+        return relationRows;
+    }
+
+    /**
+     * Rows of {@link #readRelationRows()} grouped by the code of their entity, built on first use.
+     *
+     * @return
+     */
+    public RelationIndex readCSVRelationIndex() {
+        if (Objects.isNull(relationIndex)) relationIndex = new RelationIndex(readRelationRows());
+        return relationIndex;
+    }
 }
@@ -2,9 +2,12 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.utils.SHEETS;
 import org.supercsv.prefs.CsvPreference;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author amartinez
@@ -14,27 +17,77 @@ public class CSVResearcher implements Read<List<List<Object>>>{
     private static Logger logger = LogManager.getLogger(CSVResearcher.class);
 
     private List<List<Object>> data;
-    private String file;
+    private RowSource source;
+    private boolean loaded;
 
     public CSVResearcher(String file) throws Exception {
-        this.file = file;
-
-        logger.debug("Researcher file:           {}", this.file);
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsResearcher(), 4);
+        this(new CsvRowSource(file, SHEETS.researchers), true);
     }
 
     public CSVResearcher(String file, CsvPreference csvPreference) throws Exception {
-        this.file = file;
+        this(new CsvRowSource(file, csvPreference, SHEETS.researchers), true);
+    }
+
+    private CSVResearcher(RowSource source, boolean eager) throws Exception {
+        this.source = source;
+
+        logger.debug("Researcher file:           {}", this.source);
+        if (eager) {
+            data = this.source.read(Processors.getProcessorsResearcher(), 4);
+            loaded = true;
+        }
+    }
+
+    /**
+     * @param source rows of the sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVResearcher from(RowSource source) throws Exception {
+        return new CSVResearcher(source, true);
+    }
 
-        logger.debug("Researcher file:           {}", this.file);
-        data = Reading.readWithCsvListReader(this.file, Processors.getProcessorsResearcher(), 4, csvPreference);
+    /**
+     * Same as {@link #from(RowSource)} but the rows of the sheet are not read until {@link #streamCSV()}
+     * (or {@link #readCSV()}) is called.
+     *
+     * @param source rows of the sheet
+     * @return
+     * @throws Exception
+     */
+    public static CSVResearcher streaming(RowSource source) throws Exception {
+        return new CSVResearcher(source, false);
     }
 
     @Override
-    public List<List<Object>> readCSV(){
+    public List<List<Object>> readCSV() {
+        if (!loaded) {
+            try {
+                data = source.read(Processors.getProcessorsResearcher(), 4);
+            } catch (Exception e) {
+                logger.error(e);
+            }
+            loaded = true;
+        }
         return data;
     }
 
+    @Override
+    public Stream<List<Object>> streamCSV() throws Exception {
+        if (loaded) return Objects.isNull(data) ? Stream.empty() : data.stream();
+        return source.stream(Processors.getProcessorsResearcher(), 4);
+    }
+
+    /**
+     * Rows of {@link #streamCSV()} as {@link ResearcherRow}.
+     *
+     * @return
+     * @throws Exception
+     */
+    public Stream<ResearcherRow> streamRows() throws Exception {
+        return streamCSV().map(ResearcherRow::of);
+    }
+
     @Override
     public <T> T readCSVRelation() {
         return null;
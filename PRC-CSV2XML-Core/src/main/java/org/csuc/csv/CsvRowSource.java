@@ -0,0 +1,80 @@
+package org.csuc.csv;
+
+import org.csuc.utils.SHEETS;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.prefs.CsvPreference;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link RowSource} backed by a CSV file. Given its sheet, the columns are found by the names of the header, see
+ * {@link Reading#streamWithCsvListReader(String, SHEETS, CellProcessor[])}; otherwise they are read by position.
+ *
+ * @author amartinez
+ */
+public class CsvRowSource implements RowSource {
+
+    private String file;
+    private CsvPreference csvPreference;
+    private SHEETS sheet;
+
+    public CsvRowSource(String file) {
+        this.file = file;
+    }
+
+    public CsvRowSource(String file, CsvPreference csvPreference) {
+        this.file = file;
+        this.csvPreference = csvPreference;
+    }
+
+    /**
+     * @param file
+     * @param sheet columns of the file, found by the names of its header
+     */
+    public CsvRowSource(String file, SHEETS sheet) {
+        this.file = file;
+        this.sheet = sheet;
+    }
+
+    /**
+     * @param file
+     * @param csvPreference
+     * @param sheet         columns of the file, found by the names of its header
+     */
+    public CsvRowSource(String file, CsvPreference csvPreference, SHEETS sheet) {
+        this.file = file;
+        this.csvPreference = csvPreference;
+        this.sheet = sheet;
+    }
+
+    @Override
+    public List<List<Object>> read(CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        if (Objects.nonNull(sheet)) {
+            if (Objects.isNull(csvPreference))
+                return Reading.readWithCsvListReader(file, sheet, cellProcessors);
+            return Reading.readWithCsvListReader(file, sheet, cellProcessors, csvPreference);
+        }
+        if (Objects.isNull(csvPreference))
+            return Reading.readWithCsvListReader(file, cellProcessors, sizeCol);
+        return Reading.readWithCsvListReader(file, cellProcessors, sizeCol, csvPreference);
+    }
+
+    @Override
+    public Stream<List<Object>> stream(CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        if (Objects.nonNull(sheet)) {
+            if (Objects.isNull(csvPreference))
+                return Reading.streamWithCsvListReader(file, sheet, cellProcessors);
+            return Reading.streamWithCsvListReader(file, sheet, cellProcessors, csvPreference);
+        }
+        if (Objects.isNull(csvPreference))
+            return Reading.streamWithCsvListReader(file, cellProcessors, sizeCol);
+        return Reading.streamWithCsvListReader(file, cellProcessors, sizeCol, csvPreference);
+    }
+
+    @Override
+    public String toString() {
+        return file;
+    }
+}
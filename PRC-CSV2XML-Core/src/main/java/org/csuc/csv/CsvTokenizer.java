@@ -0,0 +1,176 @@
+package org.csuc.csv;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Splits a memory-mapped UTF-8 CSV file into rows, with the rules of the Super CSV tokenizer for the preferences the
+ * PRC files use: a quote anywhere opens a quoted section, a doubled quote inside it is a quote, line breaks inside it
+ * are read as {@code \n}, spaces are kept, empty columns are {@code null} and empty lines are skipped.
+ *
+ * The file is decoded in chunks into one {@link CharBuffer} and the columns are collected in one {@link StringBuilder}
+ * and one list, all reused from row to row: a row only allocates the strings of its columns.
+ *
+ * @author amartinez
+ */
+class CsvTokenizer implements Closeable {
+
+    private static final int CHUNK = 8 * 1024;
+
+    private FileChannel channel;
+    private ByteBuffer bytes;
+    private CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private CharBuffer chars = CharBuffer.allocate(CHUNK);
+    private boolean flushed = false;
+
+    private char quote;
+    private char delimiter;
+    private boolean ignoreEmptyLines;
+
+    private StringBuilder column = new StringBuilder();
+    private List<Object> columns = new ArrayList<>();
+    private int lineNumber = 0;
+    private int rowNumber = 0;
+
+    /**
+     * @param file
+     * @param csvPreference quote, delimiter and empty lines are honoured; comments, a maximum of lines per row and
+     *                      surrounding spaces that need quotes are not supported
+     * @throws IOException
+     */
+    CsvTokenizer(String file, CsvPreference csvPreference) throws IOException {
+        if (csvPreference.isSurroundingSpacesNeedQuotes() || Objects.nonNull(csvPreference.getCommentMatcher())
+                || csvPreference.getMaxLinesPerRow() > 0)
+            throw new IllegalArgumentException("CSV preference not supported by the tokenizer");
+
+        quote = csvPreference.getQuoteChar();
+        delimiter = (char) csvPreference.getDelimiterChar();
+        ignoreEmptyLines = csvPreference.isIgnoreEmptyLines();
+
+        channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        chars.flip();
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return the columns of the row, reused by the next call, or {@code null} at the end of the file
+     * @throws IOException
+     * @throws SuperCsvException the file ends inside a quoted section
+     */
+    List<Object> readRow() throws IOException {
+        columns.clear();
+        column.setLength(0);
+
+        int c = read();
+        while (ignoreEmptyLines && (c == '\n' || c == '\r')) {
+            endOfLine(c);
+            c = read();
+        }
+        if (c < 0) return null;
+
+        boolean quoted = false;
+        int quotedLine = 0;
+        while (true) {
+            if (c < 0) {
+                if (quoted)
+                    throw new SuperCsvException(String.format("unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+                            quotedLine, lineNumber));
+                lineNumber++;
+                return row();
+            } else if (c == '\n' || c == '\r') {
+                endOfLine(c);
+                if (!quoted) return row();
+                column.append('\n');
+            } else if (quoted) {
+                if (c != quote) column.append((char) c);
+                else if (peek() == quote) column.append((char) read());
+                else quoted = false;
+            } else if (c == delimiter) {
+                addColumn();
+            } else if (c == quote) {
+                quoted = true;
+                quotedLine = lineNumber + 1;
+            } else {
+                column.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return physical lines read so far
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return rows read so far, the header included
+     */
+    int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Object> row() {
+        addColumn();
+        rowNumber++;
+        return columns;
+    }
+
+    private void addColumn() {
+        columns.add(column.length() > 0 ? column.toString() : null);
+        column.setLength(0);
+    }
+
+    private void endOfLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') read();
+        lineNumber++;
+    }
+
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) return -1;
+        return chars.get();
+    }
+
+    private int peek() throws IOException {
+        if (!chars.hasRemaining() && !fill()) return -1;
+        return chars.get(chars.position());
+    }
+
+    /**
+     * Decodes the next chunk, the whole file is already mapped.
+     *
+     * @return {@code false} at the end of the file
+     */
+    private boolean fill() {
+        if (flushed) return false;
+        chars.clear();
+        decoder.decode(bytes, chars, true);
+        if (!bytes.hasRemaining() && chars.hasRemaining()) flushed = decoder.flush(chars).isUnderflow();
+        chars.flip();
+        return chars.hasRemaining() || fill();
+    }
+}
@@ -0,0 +1,75 @@
+package org.csuc.csv;
+
+import java.util.List;
+
+/**
+ * Row of the departments sheet.
+ *
+ * @author amartinez
+ */
+public class DepartmentRow {
+
+    private final String name;
+    private final String acro;
+    private final String address;
+    private final String url;
+    private final String ae;
+    private final String code;
+    private final String phone;
+
+    /**
+     * @param name    NAME
+     * @param acro    SIGLES
+     * @param address ADREÇA
+     * @param url     URL
+     * @param ae      AE, e-mail addresses separated by {@code ||}
+     * @param code    CODI
+     * @param phone   TELF
+     */
+    public DepartmentRow(String name, String acro, String address, String url, String ae, String code, String phone) {
+        this.name = name;
+        this.acro = acro;
+        this.address = address;
+        this.url = url;
+        this.ae = ae;
+        this.code = code;
+        this.phone = phone;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsDepartment()}
+     * @return
+     */
+    public static DepartmentRow of(List<Object> row) {
+        return new DepartmentRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3),
+                (String) row.get(4), (String) row.get(5), (String) row.get(6));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAcro() {
+        return acro;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getAe() {
+        return ae;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+}
@@ -0,0 +1,76 @@
+package org.csuc.csv;
+
+import java.util.List;
+
+/**
+ * Row of the projects sheet.
+ *
+ * @author amartinez
+ */
+public class ProjectRow {
+
+    private final String title;
+    private final String url;
+    private final String officialCode;
+    private final String code;
+    private final String programme;
+    private final String startDate;
+    private final String endDate;
+
+    /**
+     * @param title        TITLE
+     * @param url          URL
+     * @param officialCode OFFICIAL CODE
+     * @param code         CODE
+     * @param programme    FUNDING PROGRAM
+     * @param startDate    DATE INICI
+     * @param endDate      DATE FI
+     */
+    public ProjectRow(String title, String url, String officialCode, String code, String programme, String startDate,
+                      String endDate) {
+        this.title = title;
+        this.url = url;
+        this.officialCode = officialCode;
+        this.code = code;
+        this.programme = programme;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsProject()}
+     * @return
+     */
+    public static ProjectRow of(List<Object> row) {
+        return new ProjectRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3),
+                (String) row.get(4), (String) row.get(5), (String) row.get(6));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getOfficialCode() {
+        return officialCode;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getProgramme() {
+        return programme;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,135 @@
+package org.csuc.csv;
+
+import java.util.List;
+
+/**
+ * Row of the publications sheet.
+ *
+ * @author amartinez
+ */
+public class PublicationRow {
+
+    private final String title;
+    private final String id;
+    private final String doi;
+    private final String handle;
+    private final String num;
+    private final String vol;
+    private final String startPage;
+    private final String endPage;
+    private final String isbn;
+    private final String issn;
+    private final String date;
+    private final String publishedIn;
+    private final String publishedBy;
+    private final String documentType;
+    private final String groupAuthors;
+
+    /**
+     * @param title        TITLE
+     * @param id           ID
+     * @param doi          DOI, separated by {@code ||}
+     * @param handle       HANDLE, separated by {@code ||}
+     * @param num          NUM
+     * @param vol          VOL
+     * @param startPage    START PAGE
+     * @param endPage      END PAGE
+     * @param isbn         ISBN
+     * @param issn         ISSN
+     * @param date         DATA
+     * @param publishedIn  PUBLICAT A
+     * @param publishedBy  PUBLICAT PER
+     * @param documentType DOCUMENT TYPES
+     * @param groupAuthors CADENA D'AUTORS
+     */
+    public PublicationRow(String title, String id, String doi, String handle, String num, String vol, String startPage,
+                          String endPage, String isbn, String issn, String date, String publishedIn,
+                          String publishedBy, String documentType, String groupAuthors) {
+        this.title = title;
+        this.id = id;
+        this.doi = doi;
+        this.handle = handle;
+        this.num = num;
+        this.vol = vol;
+        this.startPage = startPage;
+        this.endPage = endPage;
+        this.isbn = isbn;
+        this.issn = issn;
+        this.date = date;
+        this.publishedIn = publishedIn;
+        this.publishedBy = publishedBy;
+        this.documentType = documentType;
+        this.groupAuthors = groupAuthors;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsPublication()}
+     * @return
+     */
+    public static PublicationRow of(List<Object> row) {
+        return new PublicationRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3),
+                (String) row.get(4), (String) row.get(5), (String) row.get(6), (String) row.get(7),
+                (String) row.get(8), (String) row.get(9), (String) row.get(10), (String) row.get(11),
+                (String) row.get(12), (String) row.get(13), (String) row.get(14));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDoi() {
+        return doi;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getNum() {
+        return num;
+    }
+
+    public String getVol() {
+        return vol;
+    }
+
+    public String getStartPage() {
+        return startPage;
+    }
+
+    public String getEndPage() {
+        return endPage;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getIssn() {
+        return issn;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getPublishedIn() {
+        return publishedIn;
+    }
+
+    public String getPublishedBy() {
+        return publishedBy;
+    }
+
+    public String getDocumentType() {
+        return documentType;
+    }
+
+    public String getGroupAuthors() {
+        return groupAuthors;
+    }
+}
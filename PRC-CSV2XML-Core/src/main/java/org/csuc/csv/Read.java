@@ -1,8 +1,22 @@
 package org.csuc.csv;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 public interface Read<T> {
 
      <T> T readCSV();
      <T> T readCSVRelation();
 
+     /**
+      * Rows of {@link #readCSV()} parsed on demand. Close the stream to release the underlying reader.
+      *
+      * @return
+      * @throws Exception
+      */
+     default Stream<List<Object>> streamCSV() throws Exception {
+          List<List<Object>> rows = readCSV();
+          return Objects.isNull(rows) ? Stream.empty() : rows.stream();
+     }
 }
@@ -2,28 +2,57 @@ package org.csuc.csv;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.jfr.CsvReadEvent;
+import org.csuc.utils.ColumnMapping;
+import org.csuc.utils.SHEETS;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.io.CsvListReader;
 import org.supercsv.io.ICsvListReader;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.Util;
 
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * CSV files are read as UTF-8, whatever the platform charset.
+ *
  * @author amartinez
  */
 public class Reading {
 
     private static Logger logger = LogManager.getLogger(Reading.class);
 
+    /**
+     * @param file
+     * @return UTF-8 reader of the file, malformed input is replaced
+     * @throws FileNotFoundException
+     */
+    private static Reader reader(String file) throws FileNotFoundException {
+        return reader(new File(file));
+    }
+
+    private static Reader reader(File file) throws FileNotFoundException {
+        return new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+    }
+
 
     /**
      *
@@ -33,13 +62,15 @@ public class Reading {
      */
     public static List<List<Object>> readWithCsvListReader(String file, CellProcessor[] cellProcessors, int sizeCol,
                                                            CsvPreference csvPreference) throws Exception {
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
         ICsvListReader listReader = null;
         List<List<Object>> result = new ArrayList<>();
 
         if(Objects.nonNull(file)){
             try {
 
-                listReader = new CsvListReader(new FileReader(file), csvPreference);
+                listReader = new CsvListReader(reader(file), csvPreference);
                 listReader.getHeader(true); // skip the header (can't be used with CsvListReader)
 
                 List<Object> customerList;
@@ -55,6 +86,7 @@ public class Reading {
                 logger.error(e);
             }finally {
                 if( listReader != null )    listReader.close();
+                commit(event, file, listReader);
             }
         }
         return result.isEmpty() ? null : result;
@@ -67,12 +99,14 @@ public class Reading {
      * @throws IOException
      */
     public static List<List<Object>> readWithCsvListReader(String file, CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
         ICsvListReader listReader = null;
         List<List<Object>> result = new ArrayList<>();
 
         if(Objects.nonNull(file)){
             try {
-                listReader = new CsvListReader(new FileReader(file), CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
+                listReader = new CsvListReader(reader(file), CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
                 listReader.getHeader(true); // skip the header (can't be used with CsvListReader)
 
                 List<Object> customerList;
@@ -87,6 +121,7 @@ public class Reading {
                 logger.error(e);
             }finally {
                 if( listReader != null )    listReader.close();
+                commit(event, file, listReader);
             }
         }
         return result.isEmpty() ? null : result;
@@ -99,11 +134,13 @@ public class Reading {
      * @throws IOException
      */
     public static List<List<Object>> readWithCsvListReader(File file, CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
         ICsvListReader listReader = null;
         List<List<Object>> result = new ArrayList<>();
 
         try {
-            listReader = new CsvListReader(new FileReader(file), CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
+            listReader = new CsvListReader(reader(file), CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
 
             listReader.getHeader(true); // skip the header (can't be used with CsvListReader)
 
@@ -122,7 +159,227 @@ public class Reading {
             if( listReader != null ) {
                 listReader.close();
             }
+            commit(event, file.toString(), listReader);
+        }
+    }
+
+    /**
+     * Lazy counterpart of {@link #readWithCsvListReader(String, CellProcessor[], int, CsvPreference)}: rows are parsed
+     * while the stream is consumed and the reader is closed once it is exhausted or the stream is closed.
+     *
+     * @param file
+     * @param cellProcessors
+     * @param sizeCol
+     * @param csvPreference
+     * @return the rows without the header, empty rows skipped
+     * @throws IOException
+     */
+    public static Stream<List<Object>> streamWithCsvListReader(String file, CellProcessor[] cellProcessors, int sizeCol,
+                                                               CsvPreference csvPreference) throws IOException {
+        return stream(file, null, cellProcessors, sizeCol, csvPreference, true);
+    }
+
+    /**
+     * Lazy counterpart of {@link #readWithCsvListReader(String, CellProcessor[], int)}.
+     *
+     * @param file
+     * @param cellProcessors
+     * @param sizeCol
+     * @return the rows without the header
+     * @throws IOException
+     */
+    public static Stream<List<Object>> streamWithCsvListReader(String file, CellProcessor[] cellProcessors, int sizeCol) throws IOException {
+        return stream(file, null, cellProcessors, sizeCol, CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE, false);
+    }
+
+    /**
+     * Same as {@link #readWithCsvListReader(String, CellProcessor[], int, CsvPreference)} for a PRC sheet: its columns
+     * are found by the names of the header, see {@link ColumnMapping}, and every row must be as wide as the header.
+     *
+     * @param file
+     * @param sheet
+     * @param cellProcessors
+     * @param csvPreference
+     * @return the rows without the header in the order of the columns of the sheet, empty rows skipped, or
+     * {@code null} if there are none
+     * @throws IOException
+     * @throws IllegalArgumentException if the header does not name every column of the sheet or a row is not as wide
+     */
+    public static List<List<Object>> readWithCsvListReader(String file, SHEETS sheet, CellProcessor[] cellProcessors,
+                                                           CsvPreference csvPreference) throws IOException {
+        return collect(streamWithCsvListReader(file, sheet, cellProcessors, csvPreference));
+    }
+
+    /**
+     * Same as {@link #readWithCsvListReader(String, CellProcessor[], int)} for a PRC sheet, see
+     * {@link #readWithCsvListReader(String, SHEETS, CellProcessor[], CsvPreference)}.
+     *
+     * @param file
+     * @param sheet
+     * @param cellProcessors
+     * @return the rows without the header in the order of the columns of the sheet, or {@code null} if there are none
+     * @throws IOException
+     */
+    public static List<List<Object>> readWithCsvListReader(String file, SHEETS sheet, CellProcessor[] cellProcessors) throws IOException {
+        return collect(streamWithCsvListReader(file, sheet, cellProcessors));
+    }
+
+    /**
+     * Lazy counterpart of {@link #readWithCsvListReader(String, SHEETS, CellProcessor[], CsvPreference)}.
+     *
+     * @param file
+     * @param sheet
+     * @param cellProcessors
+     * @param csvPreference
+     * @return the rows without the header in the order of the columns of the sheet, empty rows skipped
+     * @throws IOException
+     */
+    public static Stream<List<Object>> streamWithCsvListReader(String file, SHEETS sheet, CellProcessor[] cellProcessors,
+                                                               CsvPreference csvPreference) throws IOException {
+        return stream(file, sheet, cellProcessors, sheet.columns(), csvPreference, true);
+    }
+
+    /**
+     * Lazy counterpart of {@link #readWithCsvListReader(String, SHEETS, CellProcessor[])}.
+     *
+     * @param file
+     * @param sheet
+     * @param cellProcessors
+     * @return the rows without the header in the order of the columns of the sheet
+     * @throws IOException
+     */
+    public static Stream<List<Object>> streamWithCsvListReader(String file, SHEETS sheet, CellProcessor[] cellProcessors) throws IOException {
+        return stream(file, sheet, cellProcessors, sheet.columns(), CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE, false);
+    }
+
+    private static List<List<Object>> collect(Stream<List<Object>> stream) {
+        try (Stream<List<Object>> rows = stream) {
+            List<List<Object>> result = rows.collect(Collectors.toList());
+            return result.isEmpty() ? null : result;
+        }
+    }
+
+    /**
+     * @param sheet {@code null} to read the columns by position
+     */
+    private static Stream<List<Object>> stream(String file, SHEETS sheet, CellProcessor[] cellProcessors, int sizeCol,
+                                               CsvPreference csvPreference, boolean skipEmpty) throws IOException {
+        if (Objects.isNull(file)) return Stream.empty();
+
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
+        ICsvListReader listReader = new CsvListReader(reader(file), csvPreference);
+        ColumnMapping mapping = null;
+        try {
+            String[] header = listReader.getHeader(true);
+            if (Objects.nonNull(sheet) && Objects.nonNull(header)) {
+                mapping = ColumnMapping.compile(sheet, header);
+                // rows of a header in the order of the sheet are read as they are
+                if (mapping.isPositional() && mapping.width() == sizeCol) mapping = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            listReader.close();
+            throw e;
         }
+
+        CsvListSpliterator spliterator = new CsvListSpliterator(listReader, mapping, cellProcessors, sizeCol, skipEmpty, file, event);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Commits the read of the file, if Flight Recorder records it.
+     *
+     * @param event      started before the file was opened
+     * @param file
+     * @param listReader {@code null} if the file could not be opened
+     */
+    private static void commit(CsvReadEvent event, String file, ICsvListReader listReader) {
+        if (!event.shouldCommit()) return;
+        event.file = file;
+        event.rows = Objects.isNull(listReader) ? 0 : Math.max(listReader.getRowNumber() - 1, 0);
+        event.commit();
     }
 
+    /**
+     * Reads one row per {@link #tryAdvance(Consumer)}.
+     */
+    private static class CsvListSpliterator extends Spliterators.AbstractSpliterator<List<Object>> {
+
+        private ICsvListReader listReader;
+        private ColumnMapping mapping;
+        private CellProcessor[] cellProcessors;
+        private int sizeCol;
+        private boolean skipEmpty;
+        private String file;
+        private CsvReadEvent event;
+
+        /**
+         * @param mapping {@code null} to read the columns by position
+         */
+        CsvListSpliterator(ICsvListReader listReader, ColumnMapping mapping, CellProcessor[] cellProcessors, int sizeCol,
+                           boolean skipEmpty, String file, CsvReadEvent event) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.listReader = listReader;
+            this.mapping = mapping;
+            this.cellProcessors = cellProcessors;
+            this.sizeCol = sizeCol;
+            this.skipEmpty = skipEmpty;
+            this.file = file;
+            this.event = event;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<Object>> action) {
+            if (Objects.isNull(listReader)) return false;
+            try {
+                List<Object> customerList;
+                while ((customerList = read()) != null) {
+                    if (!Objects.equals(customerList.size(), sizeCol))
+                        throw new IllegalArgumentException(String.format("Line: %s, RownNumber: %s value: %s invalid size row %s",
+                                listReader.getLineNumber(), listReader.getRowNumber(), customerList, customerList.size()));
+                    logger.debug("Line: {}  Row: {}  Data:  {}", listReader.getLineNumber(), listReader.getRowNumber(), customerList);
+                    if (!skipEmpty || customerList.stream().anyMatch(Objects::nonNull)) {
+                        action.accept(customerList);
+                        return true;
+                    }
+                }
+            } catch (SuperCsvCellProcessorException e) {
+                logger.error(e);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            close();
+            return false;
+        }
+
+        /**
+         * @return the next row in the order of the sheet, processed, or {@code null} at the end of the file
+         * @throws IOException
+         */
+        private List<Object> read() throws IOException {
+            if (Objects.isNull(mapping)) return listReader.read(cellProcessors);
+
+            List<String> columns = listReader.read();
+            if (Objects.isNull(columns)) return null;
+            if (columns.size() != mapping.width())
+                throw new IllegalArgumentException(String.format("Line: %s, RownNumber: %s value: %s invalid size row %s, header %s",
+                        listReader.getLineNumber(), listReader.getRowNumber(), columns, columns.size(), mapping.width()));
+            List<Object> customerList = new ArrayList<>(sizeCol);
+            Util.executeCellProcessors(customerList, mapping.map(columns), cellProcessors, listReader.getLineNumber(), listReader.getRowNumber());
+            return customerList;
+        }
+
+        void close() {
+            if (Objects.isNull(listReader)) return;
+            try {
+                listReader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                commit(event, file, listReader);
+                listReader = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package org.csuc.csv;
+
+import java.util.*;
+
+/**
+ * Rows of a relation sheet grouped by the CODI/ID of the entity they belong to, so every entity gets its own rows
+ * without scanning the whole sheet. Rows keep their order within each group.
+ *
+ * @author amartinez
+ */
+public class RelationIndex {
+
+    private final Map<String, List<RelationRow>> index = new HashMap<>();
+
+    /**
+     * @param relation rows of the relation sheet, may be {@code null}
+     */
+    public RelationIndex(List<RelationRow> relation) {
+        if (Objects.nonNull(relation)) {
+            relation.stream()
+                    .filter(row -> Objects.nonNull(row.getCode()))
+                    .forEach(row -> index.computeIfAbsent(row.getCode(), code -> new ArrayList<>()).add(row));
+        }
+    }
+
+    /**
+     * @param code CODI/ID of the entity
+     * @return its relation rows or {@code null} if it has none
+     */
+    public List<RelationRow> get(String code) {
+        return Objects.isNull(code) ? null : index.get(code);
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
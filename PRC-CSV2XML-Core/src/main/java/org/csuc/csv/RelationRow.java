@@ -0,0 +1,139 @@
+package org.csuc.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Row of a relation sheet: a person related to a department, research group, project or publication.
+ *
+ * @author amartinez
+ */
+public class RelationRow {
+
+    private final String code;
+    private final String name;
+    private final String orcid;
+    private final String role;
+
+    /**
+     * @param code  CODI/ID of the entity
+     * @param name  NOM of the person
+     * @param orcid ORCID of the person
+     * @param role  IP of a research group or project, thesis director of a publication
+     */
+    public RelationRow(String code, String name, String orcid, String role) {
+        this.code = code;
+        this.name = name;
+        this.orcid = orcid;
+        this.role = role;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsResearchGroupRelation()},
+     *            {@link Processors#getProcessorsProjectRelation()} or {@link Processors#getProcessorsPublicationRelation()}
+     * @return
+     */
+    public static RelationRow of(List<Object> row) {
+        return new RelationRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3));
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsDepartmentRelation()}, without name nor role
+     * @return
+     */
+    public static RelationRow ofDepartment(List<Object> row) {
+        return new RelationRow((String) row.get(0), null, (String) row.get(1), null);
+    }
+
+    /**
+     * @param rows   processed rows, may be {@code null}
+     * @param mapper {@link #of(List)} or {@link #ofDepartment(List)}
+     * @return the relation rows or {@code null} without rows
+     */
+    public static List<RelationRow> map(List<List<Object>> rows, Function<List<Object>, RelationRow> mapper) {
+        if (Objects.isNull(rows)) return null;
+        List<RelationRow> result = new ArrayList<>(rows.size());
+        for (List<Object> row : rows) result.add(mapper.apply(row));
+        return result;
+    }
+
+    /**
+     * Maps the rows while they are read, so the processed rows are not kept. Equal values share one string: a code
+     * is repeated on every row of its entity and an ORCID or a name on every row of its person.
+     *
+     * @param rows   processed rows, closed once read
+     * @param mapper {@link #of(List)} or {@link #ofDepartment(List)}
+     * @return the relation rows or {@code null} without rows
+     */
+    public static List<RelationRow> read(Stream<List<Object>> rows, Function<List<Object>, RelationRow> mapper) {
+        Map<String, String> strings = new HashMap<>();
+        try (Stream<List<Object>> stream = rows) {
+            ArrayList<RelationRow> result = stream.map(mapper).map(row -> row.share(strings))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (result.isEmpty()) return null;
+            result.trimToSize();
+            return result;
+        }
+    }
+
+    /**
+     * @param rows   relation rows, may be {@code null}
+     * @param mapper {@link #toList()} or {@link #toDepartmentList()}
+     * @return the processed rows they were built from or {@code null} without rows
+     */
+    public static List<List<Object>> unmap(List<RelationRow> rows, Function<RelationRow, List<Object>> mapper) {
+        if (Objects.isNull(rows)) return null;
+        List<List<Object>> result = new ArrayList<>(rows.size());
+        for (RelationRow row : rows) result.add(mapper.apply(row));
+        return result;
+    }
+
+    /**
+     * @param strings values already read
+     * @return this row with the values of the previous rows
+     */
+    private RelationRow share(Map<String, String> strings) {
+        return new RelationRow(share(strings, code), share(strings, name), share(strings, orcid), share(strings, role));
+    }
+
+    private static String share(Map<String, String> strings, String value) {
+        return Objects.isNull(value) ? null : strings.computeIfAbsent(value, Function.identity());
+    }
+
+    /**
+     * @return the processed row of {@link #of(List)}
+     */
+    public List<Object> toList() {
+        return Arrays.asList(code, name, orcid, role);
+    }
+
+    /**
+     * @return the processed row of {@link #ofDepartment(List)}
+     */
+    public List<Object> toDepartmentList() {
+        return Arrays.asList(code, orcid);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOrcid() {
+        return orcid;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
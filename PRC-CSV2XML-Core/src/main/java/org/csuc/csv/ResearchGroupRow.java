@@ -0,0 +1,75 @@
+package org.csuc.csv;
+
+import java.util.List;
+
+/**
+ * Row of the research groups sheet.
+ *
+ * @author amartinez
+ */
+public class ResearchGroupRow {
+
+    private final String name;
+    private final String acro;
+    private final String url;
+    private final String ae;
+    private final String code;
+    private final String sgr;
+    private final String date;
+
+    /**
+     * @param name NAME
+     * @param acro SIGLES
+     * @param url  URL
+     * @param ae   AE, e-mail addresses separated by {@code ||}
+     * @param code CODI
+     * @param sgr  SGR
+     * @param date DATE of the SGR
+     */
+    public ResearchGroupRow(String name, String acro, String url, String ae, String code, String sgr, String date) {
+        this.name = name;
+        this.acro = acro;
+        this.url = url;
+        this.ae = ae;
+        this.code = code;
+        this.sgr = sgr;
+        this.date = date;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsResearchGroup()}
+     * @return
+     */
+    public static ResearchGroupRow of(List<Object> row) {
+        return new ResearchGroupRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3),
+                (String) row.get(4), (String) row.get(5), (String) row.get(6));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAcro() {
+        return acro;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getAe() {
+        return ae;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getSgr() {
+        return sgr;
+    }
+
+    public String getDate() {
+        return date;
+    }
+}
@@ -0,0 +1,53 @@
+package org.csuc.csv;
+
+import java.util.List;
+
+/**
+ * Row of the researchers sheet.
+ *
+ * @author amartinez
+ */
+public class ResearcherRow {
+
+    private final String name;
+    private final String orcid;
+    private final String signature;
+    private final String ae;
+
+    /**
+     * @param name      NAME
+     * @param orcid     ORCID
+     * @param signature SIGNATURA
+     * @param ae        AE, e-mail addresses separated by {@code ||}
+     */
+    public ResearcherRow(String name, String orcid, String signature, String ae) {
+        this.name = name;
+        this.orcid = orcid;
+        this.signature = signature;
+        this.ae = ae;
+    }
+
+    /**
+     * @param row processed row of {@link Processors#getProcessorsResearcher()}
+     * @return
+     */
+    public static ResearcherRow of(List<Object> row) {
+        return new ResearcherRow((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOrcid() {
+        return orcid;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public String getAe() {
+        return ae;
+    }
+}
@@ -0,0 +1,39 @@
+package org.csuc.csv;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Rows of one PRC sheet, whatever their origin (CSV file, workbook in memory...).
+ *
+ * @author amartinez
+ */
+public interface RowSource {
+
+    /**
+     * Rows without the header, after applying the cell processors.
+     *
+     * @param cellProcessors
+     * @param sizeCol        expected number of columns of every row
+     * @return the rows or {@code null} if there are none
+     * @throws Exception invalid row
+     */
+    List<List<Object>> read(CellProcessor[] cellProcessors, int sizeCol) throws Exception;
+
+    /**
+     * Same rows as {@link #read(CellProcessor[], int)}, parsed one at a time while the stream is consumed. An invalid
+     * row fails the stream with an {@link IllegalArgumentException}. Close the stream to release the source.
+     *
+     * @param cellProcessors
+     * @param sizeCol        expected number of columns of every row
+     * @return the rows, empty if there are none
+     * @throws Exception
+     */
+    default Stream<List<Object>> stream(CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        List<List<Object>> rows = read(cellProcessors, sizeCol);
+        return Objects.isNull(rows) ? Stream.empty() : rows.stream();
+    }
+}
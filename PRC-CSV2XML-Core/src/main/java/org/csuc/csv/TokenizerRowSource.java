@@ -0,0 +1,177 @@
+package org.csuc.csv;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.csuc.jfr.CsvReadEvent;
+import org.csuc.utils.ColumnMapping;
+import org.csuc.utils.SHEETS;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.Util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link RowSource} backed by a CSV file, split by {@link CsvTokenizer} instead of Super CSV. Only the cell processors
+ * of Super CSV are applied, so the rows are the ones {@link CsvRowSource} reads with the same preference: header
+ * skipped, every row checked against the expected number of columns and empty rows skipped. Given its sheet, the
+ * columns are found by the names of the header, see {@link ColumnMapping}.
+ *
+ * @author amartinez
+ */
+public class TokenizerRowSource implements RowSource {
+
+    private static Logger logger = LogManager.getLogger(TokenizerRowSource.class);
+
+    private String file;
+    private CsvPreference csvPreference;
+    private SHEETS sheet;
+
+    /**
+     * @param file          UTF-8 CSV file, {@code null} for no rows
+     * @param csvPreference quote and delimiter of the file, see {@link CsvTokenizer}
+     */
+    public TokenizerRowSource(String file, CsvPreference csvPreference) {
+        this.file = file;
+        this.csvPreference = csvPreference;
+    }
+
+    /**
+     * @param file          UTF-8 CSV file, {@code null} for no rows
+     * @param csvPreference quote and delimiter of the file, see {@link CsvTokenizer}
+     * @param sheet         columns of the file, found by the names of its header
+     */
+    public TokenizerRowSource(String file, CsvPreference csvPreference, SHEETS sheet) {
+        this(file, csvPreference);
+        this.sheet = sheet;
+    }
+
+    @Override
+    public List<List<Object>> read(CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        try (Stream<List<Object>> rows = stream(cellProcessors, sizeCol)) {
+            List<List<Object>> result = rows.collect(Collectors.toList());
+            return result.isEmpty() ? null : result;
+        }
+    }
+
+    @Override
+    public Stream<List<Object>> stream(CellProcessor[] cellProcessors, int sizeCol) throws IOException {
+        if (Objects.isNull(file)) return Stream.empty();
+
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
+        CsvTokenizer tokenizer = new CsvTokenizer(file, csvPreference);
+        ColumnMapping mapping = null;
+        try {
+            List<Object> header = tokenizer.readRow();
+            if (Objects.nonNull(sheet) && Objects.nonNull(header)) {
+                mapping = ColumnMapping.compile(sheet, header.stream().map(cell -> (String) cell).toArray(String[]::new));
+                // rows of a header in the order of the sheet are read as they are
+                if (mapping.isPositional() && mapping.width() == sizeCol) mapping = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+
+        TokenizerSpliterator spliterator = new TokenizerSpliterator(tokenizer, mapping, cellProcessors, sizeCol, file, event);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    @Override
+    public String toString() {
+        return file;
+    }
+
+    /**
+     * Processes one row per {@link #tryAdvance(Consumer)}. The read is recorded as a {@link CsvReadEvent} when the
+     * file is closed.
+     */
+    private static class TokenizerSpliterator extends Spliterators.AbstractSpliterator<List<Object>> {
+
+        private CsvTokenizer tokenizer;
+        private ColumnMapping mapping;
+        private CellProcessor[] cellProcessors;
+        private int sizeCol;
+        private String file;
+        private CsvReadEvent event;
+
+        /**
+         * @param mapping {@code null} to read the columns by position
+         */
+        TokenizerSpliterator(CsvTokenizer tokenizer, ColumnMapping mapping, CellProcessor[] cellProcessors, int sizeCol,
+                             String file, CsvReadEvent event) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.tokenizer = tokenizer;
+            this.mapping = mapping;
+            this.cellProcessors = cellProcessors;
+            this.sizeCol = sizeCol;
+            this.file = file;
+            this.event = event;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<Object>> action) {
+            if (Objects.isNull(tokenizer)) return false;
+            try {
+                List<Object> columns;
+                while ((columns = tokenizer.readRow()) != null) {
+                    if (Objects.nonNull(mapping)) {
+                        if (columns.size() != mapping.width())
+                            throw new IllegalArgumentException(String.format("Line: %s, RownNumber: %s value: %s invalid size row %s, header %s",
+                                    tokenizer.getLineNumber(), tokenizer.getRowNumber(), columns, columns.size(), mapping.width()));
+                        columns = mapping.map(columns);
+                    }
+                    if (!Objects.equals(columns.size(), sizeCol))
+                        throw new IllegalArgumentException(String.format("Line: %s, RownNumber: %s value: %s invalid size row %s",
+                                tokenizer.getLineNumber(), tokenizer.getRowNumber(), columns, columns.size()));
+
+                    List<Object> customerList = new ArrayList<>(sizeCol);
+                    Util.executeCellProcessors(customerList, columns, cellProcessors, tokenizer.getLineNumber(), tokenizer.getRowNumber());
+                    logger.debug("Line: {}  Row: {}  Data:  {}", tokenizer.getLineNumber(), tokenizer.getRowNumber(), customerList);
+                    if (customerList.stream().anyMatch(Objects::nonNull)) {
+                        action.accept(customerList);
+                        return true;
+                    }
+                }
+            } catch (SuperCsvCellProcessorException e) {
+                logger.error(e);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            close();
+            return false;
+        }
+
+        void close() {
+            if (Objects.isNull(tokenizer)) return;
+            try {
+                tokenizer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (event.shouldCommit()) {
+                    event.file = file;
+                    event.rows = Math.max(tokenizer.getRowNumber() - 1, 0);
+                    event.commit();
+                }
+                tokenizer = null;
+            }
+        }
+    }
+}
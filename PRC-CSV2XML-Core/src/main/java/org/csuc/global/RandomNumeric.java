@@ -1,44 +1,64 @@
 /**
- * 
+ *
  */
 package org.csuc.global;
 
-import org.apache.commons.lang3.RandomStringUtils;
-
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * Creació identificadors únics numèrics basat amb el patró Singleton.
+ *
+ * Els identificadors tenen 11 xifres i no es repeteixen mai dins d'una mateixa instància, encara que es demanin des de
+ * diversos fils alhora. Cada conversió pot fer servir la seva pròpia instància ({@link #newInstance()}).
  * @author amartinez
  *
  */
 public class RandomNumeric {
 private static RandomNumeric singleton = new RandomNumeric( );
 
+	private static final long BOUND = 100_000_000_000L;
+
 	/**
-	 *  Static 'instance' method 
+	 *  Static 'instance' method
 	 */
 	public static RandomNumeric getInstance( ) {
 		return singleton;
 	}
 
-	private List<String> listID = new ArrayList<String>();
-	   
-	/** A private Constructor prevents any other 
+	/**
+	 * Generador independent, per exemple per a una sola conversió.
+	 */
+	public static RandomNumeric newInstance( ) {
+		return new RandomNumeric();
+	}
+
+	private Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+	/** A private Constructor prevents any other
 	 * class from instantiating.
 	 */
 	private RandomNumeric(){ }
-	   
+
 	public List<String> getListID() {
-		return listID;
+		return ids.stream().map(RandomNumeric::format).collect(Collectors.toList());
 	}
-	  
+
 	public String newId(){
-		String random = RandomStringUtils.randomNumeric(11);
-		if(!listID.contains(random))	listID.add(random);
-		return random;		
+		long random;
+		do {
+			random = ThreadLocalRandom.current().nextLong(BOUND);
+		} while (!ids.add(random));
+		return format(random);
 	}
 
-
+	private static String format(long id){
+		String value = Long.toString(id);
+		StringBuilder builder = new StringBuilder(11);
+		for (int i = value.length(); i < 11; i++) builder.append('0');
+		return builder.append(value).toString();
+	}
 }
@@ -1,5 +1,5 @@
 /**
- * 
+ *
  */
 package org.csuc.global;
 
@@ -7,17 +7,24 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.GregorianCalendar;
-import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.text.ParsePosition;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
 
 /**
+ * Dates of the PRC sheets as {@link XMLGregorianCalendar}.
+ *
+ * Inputs are matched against several patterns with {@link ParsePosition}, so an invalid date does not cost an
+ * exception per pattern. A single {@link DatatypeFactory} is shared and the last {@value #CACHE_SIZE} distinct inputs
+ * are memoized, dates repeat a lot within a sheet.
+ *
  * @author amartinez
  *
  */
@@ -25,9 +32,36 @@ public class Time {
 
     private static Logger logger = LogManager.getLogger(Time.class);
 
-	private static String DATE = "yyyy-MM-dd";
-	private static String DATE_TIME = "yyyy-MM-dd'T'HH:mm:ss";
-	
+	private static final int CACHE_SIZE = 1024;
+
+	private static final List<DateTimeFormatter> DATE = Arrays.asList(
+			DateTimeFormatter.ofPattern("uuuu-M-d"),
+			DateTimeFormatter.ofPattern("uuuu/M/d"),
+			DateTimeFormatter.ofPattern("d/M/uuuu"),
+			DateTimeFormatter.ofPattern("d-M-uuuu"));
+
+	private static final List<DateTimeFormatter> DATE_TIME = Arrays.asList(
+			DateTimeFormatter.ofPattern("uuuu-M-d'T'H:m:s"),
+			DateTimeFormatter.ofPattern("uuuu-M-d H:m:s"),
+			DateTimeFormatter.ofPattern("d/M/uuuu H:m:s"));
+
+	private static final DatatypeFactory FACTORY;
+
+	static {
+		try {
+			FACTORY = DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final Map<String, Optional<XMLGregorianCalendar>> CACHE =
+			Collections.synchronizedMap(new LinkedHashMap<String, Optional<XMLGregorianCalendar>>(64, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Optional<XMLGregorianCalendar>> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			});
 
     /**
      *
@@ -39,11 +73,7 @@ public class Time {
      */
 	public static XMLGregorianCalendar formatDateTime(String inputDate) throws Exception {
         if (inputDate == null) return null;
-
-        DateFormat format = new SimpleDateFormat(DATE_TIME);
-
-        Date d = format.parse(inputDate);
-        return DatatypeFactory.newInstance().newXMLGregorianCalendar(format.format(d));
+        return cached("T" + inputDate, inputDate, true);
     }
 
     /**
@@ -56,9 +86,64 @@ public class Time {
      */
     public static XMLGregorianCalendar formatDate(String inputDate) throws Exception {
         if (inputDate == null) return null;
-        DateFormat format = new SimpleDateFormat(DATE);
+        return cached("D" + inputDate, inputDate, false);
+    }
+
+    /**
+     * @param key
+     * @param inputDate
+     * @param time      date and time or date only
+     * @return a copy of the memoized value, callers may modify it
+     * @throws ParseException no pattern matches
+     */
+    private static XMLGregorianCalendar cached(String key, String inputDate, boolean time) throws ParseException {
+        Optional<XMLGregorianCalendar> value = CACHE.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(parse(inputDate.trim(), time));
+            CACHE.put(key, value);
+        }
+        if (!value.isPresent()) throw new ParseException(String.format("Unparseable date: \"%s\"", inputDate), 0);
+        return (XMLGregorianCalendar) value.get().clone();
+    }
+
+    /**
+     * First pattern that matches the beginning of the input with a valid date, as {@code SimpleDateFormat} parsed it.
+     *
+     * @param inputDate
+     * @param time
+     * @return the date or {@code null} if no pattern matches
+     */
+    private static XMLGregorianCalendar parse(String inputDate, boolean time) {
+        for (DateTimeFormatter formatter : time ? DATE_TIME : DATE) {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor parsed = formatter.parseUnresolved(inputDate, position);
+            if (parsed == null || position.getErrorIndex() >= 0) continue;
+
+            int year = field(parsed, ChronoField.YEAR);
+            int month = field(parsed, ChronoField.MONTH_OF_YEAR);
+            int day = field(parsed, ChronoField.DAY_OF_MONTH);
+            if (!validDate(year, month, day)) continue;
+            if (!time) return FACTORY.newXMLGregorianCalendarDate(year, month, day, DatatypeConstants.FIELD_UNDEFINED);
+
+            int hour = field(parsed, ChronoField.HOUR_OF_DAY);
+            int minute = field(parsed, ChronoField.MINUTE_OF_HOUR);
+            int second = field(parsed, ChronoField.SECOND_OF_MINUTE);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) continue;
+            return FACTORY.newXMLGregorianCalendar(year, month, day, hour, minute, second,
+                    DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED);
+        }
+        logger.debug("Unparseable date: {}", inputDate);
+        return null;
+    }
+
+    private static int field(TemporalAccessor parsed, ChronoField field) {
+        if (!parsed.isSupported(field)) return -1;
+        long value = parsed.getLong(field);
+        return (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) ? -1 : (int) value;
+    }
 
-        Date d = format.parse(inputDate);
-        return DatatypeFactory.newInstance().newXMLGregorianCalendar(format.format(d));
+    private static boolean validDate(int year, int month, int day) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1) return false;
+        return day <= YearMonth.of(year, month).lengthOfMonth();
     }
 }
@@ -0,0 +1,31 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CSV file read by {@code Reading} or {@code TokenizerRowSource}, from the header to the last row. With {@code -m}
+ * the rows of a sheet already in memory, the file being the name of the sheet. A lazy read lasts as long as its
+ * stream is consumed.
+ *
+ * @author amartinez
+ */
+@Name("org.csuc.CsvRead")
+@Label("CSV Read")
+@Description("CSV file read from the header to the last row")
+@Category("PRC-CSV2XML")
+@StackTrace(false)
+public class CsvReadEvent extends Event {
+
+    @Label("File")
+    @Description("CSV file, or sheet if it is read from memory")
+    public String file;
+
+    @Label("Rows")
+    @Description("Rows read, the header left out")
+    public long rows;
+}
@@ -0,0 +1,20 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * CERIF entity handed to the JAXB writer. With more than one thread the writer marshals on its own pool and the event
+ * only covers the hand-off, and the wait when the pool is behind.
+ *
+ * @author amartinez
+ */
+@Name("org.csuc.JaxbWrite")
+@Label("JAXB Write")
+@Description("CERIF entity written to the output")
+public class JaxbWriteEvent extends RowEvent {
+
+    @Label("Element")
+    public String element;
+}
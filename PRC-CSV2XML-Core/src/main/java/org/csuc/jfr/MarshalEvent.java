@@ -0,0 +1,16 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * CERIF entity of a row built by one of the {@code Marshal*} classes, relation resolution included.
+ *
+ * @author amartinez
+ */
+@Name("org.csuc.Marshal")
+@Label("Marshal Row")
+@Description("CERIF entity of a row, relations included")
+public class MarshalEvent extends RowEvent {
+}
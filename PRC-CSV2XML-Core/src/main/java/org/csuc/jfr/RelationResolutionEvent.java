@@ -0,0 +1,33 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Relations of a row resolved against the researchers. They are resolved while the entity of the row is built, so the
+ * event spans the marshal of the row, and it is only recorded for rows with relations.
+ *
+ * @author amartinez
+ */
+@Name("org.csuc.RelationResolution")
+@Label("Relation Resolution")
+@Description("Relations of a row resolved against the researchers")
+public class RelationResolutionEvent extends RowEvent {
+
+    @Label("Relations")
+    @Description("Relations with ORCID looked up and relations without ORCID")
+    public int relations;
+
+    @Label("Hits")
+    @Description("Relations with an ORCID of a researcher")
+    public int hits;
+
+    @Label("Misses")
+    @Description("Relations with an ORCID that is not a researcher, left out")
+    public int misses;
+
+    @Label("Without ORCID")
+    @Description("Relations without ORCID, unchecked persons")
+    public int unchecked;
+}
@@ -0,0 +1,32 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one row of a sheet. Only rows slower than the threshold are recorded by default, so a
+ * recording of a whole conversion keeps the pathological rows, like publications with thousands of authors, and
+ * leaves the rest out.
+ *
+ * @author amartinez
+ */
+@Category("PRC-CSV2XML")
+@StackTrace(false)
+@Threshold("1 ms")
+public abstract class RowEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Row")
+    @Description("Position of the row in the sheet, from 1, the header and the empty rows left out")
+    public long row;
+
+    @Label("Entity Id")
+    @Description("Code, identifier or ORCID of the row")
+    public String entityId;
+}
@@ -0,0 +1,32 @@
+package org.csuc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sheet of the workbook written to its temporal CSV file, or read into memory with {@code -m}.
+ *
+ * @author amartinez
+ */
+@Name("org.csuc.SheetExtraction")
+@Label("Sheet Extraction")
+@Description("Sheet of the workbook written to its temporal CSV file or read into memory")
+@Category("PRC-CSV2XML")
+@StackTrace(false)
+public class SheetExtractionEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Rows")
+    @Description("Rows extracted, the header included")
+    public long rows;
+
+    @Label("File")
+    @Description("Temporal CSV file, none if the sheet is read into memory")
+    public String file;
+}
@@ -0,0 +1,108 @@
+package org.csuc.marshal;
+
+import org.csuc.global.RandomNumeric;
+import xmlns.org.eurocris.cerif_1.CfPersType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * State shared by all the marshallers of one conversion. It is the {@link ResearcherRegistry} of the conversion: the
+ * marshallers resolve relations against it and append the unchecked persons they create, so nothing is copied per
+ * entity. It also owns the {@link RandomNumeric} the ids of the conversion are drawn from.
+ *
+ * Stages running at the same time work on their own {@link #stage()}: it resolves against the researchers of this
+ * context and keeps the persons the stage appends, which are merged back in stage order when every stage is done.
+ *
+ * @author amartinez
+ */
+public class ConversionContext extends ResearcherRegistry {
+
+    private RandomNumeric randomNumeric;
+    private ConversionContext parent;
+    private Resolution resolution;
+
+    public ConversionContext() {
+        this.randomNumeric = RandomNumeric.newInstance();
+    }
+
+    public ConversionContext(Collection<? extends CfPersType> researchers) {
+        super(researchers);
+        this.randomNumeric = RandomNumeric.newInstance();
+    }
+
+    private ConversionContext(ConversionContext parent) {
+        this.parent = parent;
+        this.randomNumeric = parent.randomNumeric;
+    }
+
+    /**
+     * @param researchers
+     * @return the same context, a new one holding the researchers, or {@code null} if there are no researchers
+     */
+    public static ConversionContext of(List<CfPersType> researchers) {
+        if (Objects.isNull(researchers)) return null;
+        if (researchers instanceof ConversionContext) return (ConversionContext) researchers;
+        return new ConversionContext(researchers);
+    }
+
+    /**
+     * Context of one stage, or of one row when rows are marshalled in parallel. This context must not change while
+     * the stage runs.
+     *
+     * @return a context sharing the researchers and the ids of this one, empty until the stage appends persons
+     */
+    public ConversionContext stage() {
+        return new ConversionContext(this);
+    }
+
+    @Override
+    public CfPersType getIdentifier(String fedId) {
+        CfPersType found = super.getIdentifier(fedId);
+        if (Objects.isNull(found) && Objects.nonNull(parent)) found = parent.getIdentifier(fedId);
+        if (Objects.nonNull(resolution) && Objects.nonNull(fedId)) resolution.resolved(found);
+        return found;
+    }
+
+    /**
+     * Counts the identifiers looked up through this context, by the one thread that marshals a row on it.
+     *
+     * @param resolution {@code null} to stop counting
+     */
+    public void setResolution(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public RandomNumeric getRandomNumeric() {
+        return randomNumeric;
+    }
+
+    /**
+     * Identifiers looked up while a row is marshalled, see {@link #setResolution(Resolution)}.
+     */
+    public static class Resolution {
+
+        private int hits;
+        private int misses;
+
+        private void resolved(CfPersType found) {
+            if (Objects.nonNull(found)) hits++;
+            else misses++;
+        }
+
+        /**
+         * @return identifiers found among the researchers
+         */
+        public int getHits() {
+            return hits;
+        }
+
+        /**
+         * @return identifiers that are not a researcher, their relations are left out
+         */
+        public int getMisses() {
+            return misses;
+        }
+    }
+}
@@ -1,14 +1,37 @@
 package org.csuc.marshal;
 
+import xmlns.org.eurocris.cerif_1.*;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+
 /**
  * @author amartinez
  */
 public class FactoryCERIF {
 
+    public static final String NAMESPACE = "urn:xmlns:org:eurocris:cerif-1.6-2";
+
     public static <T> T createFactory(Factory factory) {
         factory.execute();
         return (T) factory;
     }
 
-
+    /**
+     * Child element of {@link CERIF} for an entity, named as in {@code CERIF.getCfClassOrCfClassSchemeOrCfClassSchemeDescr()}.
+     *
+     * @param entity department or research group, project, publication or person
+     * @return
+     */
+    public static JAXBElement<?> createElement(Object entity) {
+        if (entity instanceof CfOrgUnitType)
+            return new JAXBElement<>(new QName(NAMESPACE, "cfOrgUnit"), CfOrgUnitType.class, (CfOrgUnitType) entity);
+        if (entity instanceof CfProjType)
+            return new JAXBElement<>(new QName(NAMESPACE, "cfProj"), CfProjType.class, (CfProjType) entity);
+        if (entity instanceof CfResPublType)
+            return new JAXBElement<>(new QName(NAMESPACE, "cfResPubl"), CfResPublType.class, (CfResPublType) entity);
+        if (entity instanceof CfPersType)
+            return new JAXBElement<>(new QName(NAMESPACE, "cfPers"), CfPersType.class, (CfPersType) entity);
+        throw new IllegalArgumentException(String.format("%s is not a CERIF entity", entity.getClass().getName()));
+    }
 }
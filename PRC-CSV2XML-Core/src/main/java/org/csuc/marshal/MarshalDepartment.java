@@ -1,15 +1,15 @@
 package org.csuc.marshal;
 
+import org.csuc.csv.DepartmentRow;
+import org.csuc.csv.RelationRow;
 import org.csuc.global.RandomNumeric;
 import org.csuc.typesafe.semantics.ClassId;
 import org.csuc.typesafe.semantics.SchemeId;
 import org.csuc.typesafe.semantics.Semantics;
 import xmlns.org.eurocris.cerif_1.*;
 
-import javax.xml.bind.JAXBElement;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 /**
@@ -27,22 +27,40 @@ public class MarshalDepartment extends CfOrgUnitType implements Factory {
     private String dept;
     private String phone;
 
-    private List<List<Object>> relation;
-    private List<CfPersType> cfPersTypeList;
+    private List<RelationRow> relation;
+    private ConversionContext context;
 
+    /**
+     * @deprecated indexes the researchers in a new {@link ConversionContext} for every entity, use
+     * {@link #MarshalDepartment(DepartmentRow, List, ConversionContext)} with the one context of the conversion
+     */
+    @Deprecated
     public MarshalDepartment(NameOrTitle name, String acro, String addr, String url, String ae, String dept,
                              String phone, List relation, List<CfPersType> cfPersType) {
+        this(name, new DepartmentRow(null, acro, addr, url, ae, dept, phone),
+                RelationRow.map(relation, RelationRow::ofDepartment), ConversionContext.of(cfPersType));
+    }
+
+    /**
+     * @param row        row of the departments sheet
+     * @param relation   relation rows of the department, may be {@code null}
+     * @param context    context of the conversion or of its stage, {@code null} if there are no researchers
+     */
+    public MarshalDepartment(DepartmentRow row, List<RelationRow> relation, ConversionContext context) {
+        this(new NameOrTitle(row.getName(), null, null), row, relation, context);
+    }
 
+    private MarshalDepartment(NameOrTitle name, DepartmentRow row, List<RelationRow> relation, ConversionContext context) {
         this.name = name;
-        this.acro = acro;
-        this.addr = addr;
-        this.url = url;
-        this.ae = ae;
-        this.dept = dept;
-        this.phone = phone;
+        this.acro = row.getAcro();
+        this.addr = row.getAddress();
+        this.url = row.getUrl();
+        this.ae = row.getAe();
+        this.dept = row.getCode();
+        this.phone = row.getPhone();
 
         this.relation = relation;
-        this.cfPersTypeList = cfPersType;
+        this.context = context;
 
         execute();
     }
@@ -125,8 +143,8 @@ public class MarshalDepartment extends CfOrgUnitType implements Factory {
     private void createRelationCfPers() {
         if (Objects.nonNull(relation)) {
             relation.stream().forEach(consumer -> {
-                if (Objects.nonNull(cfPersTypeList) && dept.equals(consumer.get(0).toString())) {
-                    CfPersType id = getIdentifier(consumer.get(1).toString());
+                if (Objects.nonNull(context) && dept.equals(consumer.getCode())) {
+                    CfPersType id = context.getIdentifier(consumer.getOrcid());
                     if(Objects.nonNull(id)){
                         CfOrgUnitType.CfPersOrgUnit persOrgUnit = new CfOrgUnitType.CfPersOrgUnit();
                         persOrgUnit.setCfPersId(id.getCfPersId());
@@ -142,7 +160,7 @@ public class MarshalDepartment extends CfOrgUnitType implements Factory {
 
     @Override
     public void execute() {
-        setCfOrgUnitId(RandomNumeric.getInstance().newId());
+        setCfOrgUnitId(randomNumeric().newId());
 
         createAcro();
         createUrl();
@@ -156,18 +174,14 @@ public class MarshalDepartment extends CfOrgUnitType implements Factory {
         createRelationCfPers();
     }
 
-    private CfPersType getIdentifier(String value) {
-        AtomicReference<CfPersType> result = new AtomicReference<>();
-        cfPersTypeList.stream().forEach((CfPersType cfPersType) -> {
-            cfPersType.getCfResIntOrCfKeywOrCfPersPers().forEach((JAXBElement<?> jaxbElement) -> {
-                if(jaxbElement.getDeclaredType().equals(CfFedIdEmbType.class)
-                        && ((CfFedIdEmbType) jaxbElement.getValue()).getCfFedId().equals(value))    result.set(cfPersType);
-            });
-        });
-        return (Objects.isNull(result.get())) ? null : result.get();
-    }
-
     public CfOrgUnitType get() {
         return this;
     }
+
+    /**
+     * @return ids of the conversion, or the shared generator without context
+     */
+    private RandomNumeric randomNumeric() {
+        return Objects.nonNull(context) ? context.getRandomNumeric() : RandomNumeric.getInstance();
+    }
 }
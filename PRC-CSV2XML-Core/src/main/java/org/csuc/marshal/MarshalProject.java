@@ -2,6 +2,8 @@ package org.csuc.marshal;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.csv.ProjectRow;
+import org.csuc.csv.RelationRow;
 import org.csuc.global.RandomNumeric;
 import org.csuc.global.Time;
 import org.csuc.typesafe.semantics.ClassId;
@@ -9,13 +11,10 @@ import org.csuc.typesafe.semantics.SchemeId;
 import org.csuc.typesafe.semantics.Semantics;
 import xmlns.org.eurocris.cerif_1.*;
 
-import javax.xml.bind.JAXBElement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * @author amartinez
@@ -34,23 +33,41 @@ public class MarshalProject extends CfProjType implements Factory{
     private String inici;
     private String fi;
 
-    private List<List<Object>> relation;
-    private CopyOnWriteArrayList<CfPersType> cfPersTypeList;
-    private CopyOnWriteArrayList<CfPersType> newCfPersType = new CopyOnWriteArrayList<>();
+    private List<RelationRow> relation;
+    private ConversionContext context;
+    private List<CfPersType> newCfPersType = new ArrayList<>();
 
+    /**
+     * @deprecated indexes the researchers in a new {@link ConversionContext} for every entity, use
+     * {@link #MarshalProject(ProjectRow, List, ConversionContext)} with the one context of the conversion
+     */
+    @Deprecated
     public MarshalProject(NameOrTitle title, String uri, String officialCode,
                            String code, String programme, String dateInici, String dateFi, List relation, List<CfPersType> cfPersType){
+        this(title, new ProjectRow(null, uri, officialCode, code, programme, dateInici, dateFi),
+                RelationRow.map(relation, RelationRow::of), ConversionContext.of(cfPersType));
+    }
+
+    /**
+     * @param row        row of the projects sheet
+     * @param relation   relation rows of the project, may be {@code null}
+     * @param context    context of the conversion or of its stage, {@code null} if there are no researchers
+     */
+    public MarshalProject(ProjectRow row, List<RelationRow> relation, ConversionContext context) {
+        this(new NameOrTitle(row.getTitle(), null, null), row, relation, context);
+    }
 
+    private MarshalProject(NameOrTitle title, ProjectRow row, List<RelationRow> relation, ConversionContext context) {
         this.title = title;
-        this.url = uri;
-        this.official = officialCode;
-        this.code = code;
-        this.funding = programme;
-        this.inici = dateInici;
-        this.fi = dateFi;
+        this.url = row.getUrl();
+        this.official = row.getOfficialCode();
+        this.code = row.getCode();
+        this.funding = row.getProgramme();
+        this.inici = row.getStartDate();
+        this.fi = row.getEndDate();
 
         this.relation = relation;
-        this.cfPersTypeList = Objects.nonNull(cfPersType) ? new CopyOnWriteArrayList(cfPersType) : null;
+        this.context = context;
 
         execute();
     }
@@ -112,15 +129,17 @@ public class MarshalProject extends CfProjType implements Factory{
     private void createRelationCfPers(){
         if(Objects.nonNull(relation)){
             relation.stream().forEach(consumer->{
-                if(Objects.nonNull(cfPersTypeList) && code.equals(consumer.get(0).toString())){
-                    if(Objects.nonNull(consumer.get(2))){
-                        CfPersType id = getIdentifier(consumer.get(2).toString());
-                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), (Objects.nonNull(consumer.get(3))) ? consumer.get(3).toString() : "");
+                if(Objects.nonNull(context) && code.equals(consumer.getCode())){
+                    if(Objects.nonNull(consumer.getOrcid())){
+                        CfPersType id = context.getIdentifier(consumer.getOrcid());
+                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), (Objects.nonNull(consumer.getRole())) ? consumer.getRole() : "");
                     }else{
-                        String random = RandomNumeric.getInstance().newId();
-                        researcher(random, (Objects.nonNull(consumer.get(3))) ? consumer.get(3).toString() : "");
-                        newCfPersType.add(new MarshalReseracher(random, null, null,null, consumer.get(1).toString(),
-                                null, null, Semantics.getClassId(ClassId.UNCHECKED)));
+                        String random = randomNumeric().newId();
+                        researcher(random, (Objects.nonNull(consumer.getRole())) ? consumer.getRole() : "");
+                        MarshalReseracher unchecked = new MarshalReseracher(random, null, null,null, consumer.getName(),
+                                null, null, Semantics.getClassId(ClassId.UNCHECKED), context.getRandomNumeric());
+                        newCfPersType.add(unchecked);
+                        context.add(unchecked);
                     }
                 }
             });
@@ -141,7 +160,7 @@ public class MarshalProject extends CfProjType implements Factory{
 
     @Override
     public void execute() {
-        setCfProjId(RandomNumeric.getInstance().newId());
+        setCfProjId(randomNumeric().newId());
 
         createTitle();
         createUrl();
@@ -152,18 +171,19 @@ public class MarshalProject extends CfProjType implements Factory{
         createRelationCfPers();
     }
 
-    private CfPersType getIdentifier(String value) {
-        AtomicReference<CfPersType> result = new AtomicReference<>();
-        cfPersTypeList.stream().forEach((CfPersType cfPersType) -> {
-            cfPersType.getCfResIntOrCfKeywOrCfPersPers().forEach((JAXBElement<?> jaxbElement) -> {
-                if(jaxbElement.getDeclaredType().equals(CfFedIdEmbType.class)
-                        && ((CfFedIdEmbType) jaxbElement.getValue()).getCfFedId().equals(value))    result.set(cfPersType);
-            });
-        });
-        return (Objects.isNull(result.get())) ? null : result.get();
+    /**
+     * Unchecked persons created by this entity. They are already in the {@link ConversionContext} it was built with.
+     *
+     * @return
+     */
+    public List<CfPersType> getNewCfPersType() {
+        return Collections.unmodifiableList(newCfPersType);
     }
 
-    public ArrayList<CfPersType> getNewCfPersType() {
-        return newCfPersType.stream().collect(Collectors.toCollection(ArrayList::new));
+    /**
+     * @return ids of the conversion, or the shared generator without context
+     */
+    private RandomNumeric randomNumeric() {
+        return Objects.nonNull(context) ? context.getRandomNumeric() : RandomNumeric.getInstance();
     }
 }
@@ -2,6 +2,8 @@ package org.csuc.marshal;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.csv.PublicationRow;
+import org.csuc.csv.RelationRow;
 import org.csuc.global.RandomNumeric;
 import org.csuc.global.Time;
 import org.csuc.typesafe.semantics.ClassId;
@@ -10,13 +12,10 @@ import org.csuc.typesafe.semantics.Semantics;
 import org.csuc.utils.DocumentTypes;
 import xmlns.org.eurocris.cerif_1.*;
 
-import javax.xml.bind.JAXBElement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -44,33 +43,52 @@ public class MarshalPublication extends CfResPublType implements Factory {
     private String documentTypes;
     private String groupAuthors;
 
-    private List<List<Object>> relation;
-    private CopyOnWriteArrayList<CfPersType> cfPersTypeList;
-    private CopyOnWriteArrayList<CfPersType> newCfPersType = new CopyOnWriteArrayList<>();
+    private List<RelationRow> relation;
+    private ConversionContext context;
+    private List<CfPersType> newCfPersType = new ArrayList<>();
 
+    /**
+     * @deprecated indexes the researchers in a new {@link ConversionContext} for every entity, use
+     * {@link #MarshalPublication(PublicationRow, List, ConversionContext)} with the one context of the conversion
+     */
+    @Deprecated
     public MarshalPublication(NameOrTitle title, String id, String doi, String handle, String num, String vol,
                               String startPage, String endPage, String isbn, String issn, String date, String publicatA,
                               String publicatPer, String documentTypes, String groupAuthors,
                               List relation, List<CfPersType> cfPersType) {
+        this(title, new PublicationRow(null, id, doi, handle, num, vol, startPage, endPage, isbn, issn, date, publicatA,
+                publicatPer, documentTypes, groupAuthors), RelationRow.map(relation, RelationRow::of),
+                ConversionContext.of(cfPersType));
+    }
+
+    /**
+     * @param row        row of the publications sheet
+     * @param relation   relation rows of the publication, may be {@code null}
+     * @param context    context of the conversion or of its stage, {@code null} if there are no researchers
+     */
+    public MarshalPublication(PublicationRow row, List<RelationRow> relation, ConversionContext context) {
+        this(new NameOrTitle(row.getTitle(), null, null), row, relation, context);
+    }
 
+    private MarshalPublication(NameOrTitle title, PublicationRow row, List<RelationRow> relation, ConversionContext context) {
         this.title = title;
-        this._id = id;
-        this.doi = doi;
-        this.handle = handle;
-        this.num = num;
-        this.vol = vol;
-        this.startPage = startPage;
-        this.endPage = endPage;
-        this.isbn = isbn;
-        this.issn = issn;
-        this.date = date;
-        this.publicatA = publicatA;
-        this.publicatPer = publicatPer;
-        this.documentTypes = documentTypes;
-        this.groupAuthors = groupAuthors;
+        this._id = row.getId();
+        this.doi = row.getDoi();
+        this.handle = row.getHandle();
+        this.num = row.getNum();
+        this.vol = row.getVol();
+        this.startPage = row.getStartPage();
+        this.endPage = row.getEndPage();
+        this.isbn = row.getIsbn();
+        this.issn = row.getIssn();
+        this.date = row.getDate();
+        this.publicatA = row.getPublishedIn();
+        this.publicatPer = row.getPublishedBy();
+        this.documentTypes = row.getDocumentType();
+        this.groupAuthors = row.getGroupAuthors();
 
         this.relation = relation;
-        this.cfPersTypeList = Objects.nonNull(cfPersType) ? new CopyOnWriteArrayList(cfPersType) : null;
+        this.context = context;
 
         execute();
     }
@@ -181,15 +199,17 @@ public class MarshalPublication extends CfResPublType implements Factory {
     private void createRelationCfPers(){
         if(Objects.nonNull(relation)){
             relation.stream().forEach(consumer->{
-                if(Objects.nonNull(cfPersTypeList) && _id.equals(consumer.get(0).toString())){
-                    if(Objects.nonNull(consumer.get(2))){
-                        CfPersType id = getIdentifier(consumer.get(2).toString());
-                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), (Objects.nonNull(consumer.get(3))) ? consumer.get(3).toString() : "");
+                if(Objects.nonNull(context) && _id.equals(consumer.getCode())){
+                    if(Objects.nonNull(consumer.getOrcid())){
+                        CfPersType id = context.getIdentifier(consumer.getOrcid());
+                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), (Objects.nonNull(consumer.getRole())) ? consumer.getRole() : "");
                     }else{
-                        String random = RandomNumeric.getInstance().newId();
-                        researcher(random, (Objects.nonNull(consumer.get(3))) ? consumer.get(3).toString() : "");
-                        newCfPersType.add(new MarshalReseracher(random, null, null,null, consumer.get(1).toString(),
-                                null, null, Semantics.getClassId(ClassId.UNCHECKED)));
+                        String random = randomNumeric().newId();
+                        researcher(random, (Objects.nonNull(consumer.getRole())) ? consumer.getRole() : "");
+                        MarshalReseracher unchecked = new MarshalReseracher(random, null, null,null, consumer.getName(),
+                                null, null, Semantics.getClassId(ClassId.UNCHECKED), context.getRandomNumeric());
+                        newCfPersType.add(unchecked);
+                        context.add(unchecked);
                     }
                 }
             });
@@ -229,18 +249,19 @@ public class MarshalPublication extends CfResPublType implements Factory {
         createRelationCfPers();
     }
 
-    private CfPersType getIdentifier(String value) {
-        AtomicReference<CfPersType> result = new AtomicReference<>();
-        cfPersTypeList.stream().forEach((CfPersType cfPersType) -> {
-            cfPersType.getCfResIntOrCfKeywOrCfPersPers().forEach((JAXBElement<?> jaxbElement) -> {
-                if(jaxbElement.getDeclaredType().equals(CfFedIdEmbType.class)
-                        && ((CfFedIdEmbType) jaxbElement.getValue()).getCfFedId().equals(value))    result.set(cfPersType);
-            });
-        });
-        return (Objects.isNull(result.get())) ? null : result.get();
+    /**
+     * Unchecked persons created by this entity. They are already in the {@link ConversionContext} it was built with.
+     *
+     * @return
+     */
+    public List<CfPersType> getNewCfPersType() {
+        return Collections.unmodifiableList(newCfPersType);
     }
 
-    public ArrayList<CfPersType> getNewCfPersType() {
-        return newCfPersType.stream().collect(Collectors.toCollection(ArrayList::new));
+    /**
+     * @return ids of the conversion, or the shared generator without context
+     */
+    private RandomNumeric randomNumeric() {
+        return Objects.nonNull(context) ? context.getRandomNumeric() : RandomNumeric.getInstance();
     }
 }
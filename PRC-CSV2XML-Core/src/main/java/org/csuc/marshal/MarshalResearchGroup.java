@@ -2,6 +2,8 @@ package org.csuc.marshal;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.csuc.csv.RelationRow;
+import org.csuc.csv.ResearchGroupRow;
 import org.csuc.global.RandomNumeric;
 import org.csuc.global.Time;
 import org.csuc.typesafe.semantics.ClassId;
@@ -9,13 +11,10 @@ import org.csuc.typesafe.semantics.SchemeId;
 import org.csuc.typesafe.semantics.Semantics;
 import xmlns.org.eurocris.cerif_1.*;
 
-import javax.xml.bind.JAXBElement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -35,23 +34,40 @@ public class MarshalResearchGroup extends CfOrgUnitType implements Factory{
     private String sgr;
     private String date;
 
-    private List<List<Object>> relation;
-    private CopyOnWriteArrayList<CfPersType> cfPersTypeList;
-    private CopyOnWriteArrayList<CfPersType> newCfPersType = new CopyOnWriteArrayList<>();
+    private List<RelationRow> relation;
+    private ConversionContext context;
+    private List<CfPersType> newCfPersType = new ArrayList<>();
 
+    /**
+     * @deprecated indexes the researchers in a new {@link ConversionContext} for every entity, use
+     * {@link #MarshalResearchGroup(ResearchGroupRow, List, ConversionContext)} with the one context of the conversion
+     */
+    @Deprecated
     public MarshalResearchGroup(NameOrTitle name, String acro, String url, String ae, String code,
                                 String sgr, String date, List relation, List<CfPersType> cfPersType) {
+        this(name, new ResearchGroupRow(null, acro, url, ae, code, sgr, date), RelationRow.map(relation, RelationRow::of), ConversionContext.of(cfPersType));
+    }
+
+    /**
+     * @param row        row of the research groups sheet
+     * @param relation   relation rows of the group, may be {@code null}
+     * @param context    context of the conversion or of its stage, {@code null} if there are no researchers
+     */
+    public MarshalResearchGroup(ResearchGroupRow row, List<RelationRow> relation, ConversionContext context) {
+        this(new NameOrTitle(row.getName(), null, null), row, relation, context);
+    }
 
+    private MarshalResearchGroup(NameOrTitle name, ResearchGroupRow row, List<RelationRow> relation, ConversionContext context) {
         this.name = name;
-        this.sigles = acro;
-        this.url = url;
-        this.ae = ae;
-        this.code = code;
-        this.sgr = sgr;
-        this.date = date;
+        this.sigles = row.getAcro();
+        this.url = row.getUrl();
+        this.ae = row.getAe();
+        this.code = row.getCode();
+        this.sgr = row.getSgr();
+        this.date = row.getDate();
 
         this.relation = relation;
-        this.cfPersTypeList = Objects.nonNull(cfPersType) ? new CopyOnWriteArrayList(cfPersType) : null;
+        this.context = context;
 
         execute();
     }
@@ -113,7 +129,7 @@ public class MarshalResearchGroup extends CfOrgUnitType implements Factory{
     private void createDate(){
         if(Objects.nonNull(date)){
             CfOrgUnitSrv srv = new CfOrgUnitSrv();
-            srv.setCfSrvId(RandomNumeric.getInstance().newId());
+            srv.setCfSrvId(randomNumeric().newId());
             srv.setCfClassId(Semantics.getClassId(ClassId.RESEARCH_GROUP_CREATION_DATE));
             srv.setCfClassSchemeId(Semantics.getSchemaId(SchemeId.ORGANISATION_RESEARCH_INFRASTRUCTURE_ROLES));
             try {
@@ -128,15 +144,17 @@ public class MarshalResearchGroup extends CfOrgUnitType implements Factory{
     private void createRelationCfPers(){
         if(Objects.nonNull(relation)){
             relation.stream().forEach(consumer->{
-                if(Objects.nonNull(cfPersTypeList) && code.equals(consumer.get(0).toString())){
-                    if(Objects.nonNull(consumer.get(2))){
-                        CfPersType id = getIdentifier(consumer.get(2).toString());
-                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), consumer.get(3).toString());
+                if(Objects.nonNull(context) && code.equals(consumer.getCode())){
+                    if(Objects.nonNull(consumer.getOrcid())){
+                        CfPersType id = context.getIdentifier(consumer.getOrcid());
+                        if(Objects.nonNull(id)) researcher(id.getCfPersId(), consumer.getRole());
                     }else{
-                        String random = RandomNumeric.getInstance().newId();
-                        researcher(random, consumer.get(3).toString());
-                        newCfPersType.add(new MarshalReseracher(random, null, null,null, consumer.get(1).toString(),
-                                null, null, Semantics.getClassId(ClassId.UNCHECKED)));
+                        String random = randomNumeric().newId();
+                        researcher(random, consumer.getRole());
+                        MarshalReseracher unchecked = new MarshalReseracher(random, null, null,null, consumer.getName(),
+                                null, null, Semantics.getClassId(ClassId.UNCHECKED), context.getRandomNumeric());
+                        newCfPersType.add(unchecked);
+                        context.add(unchecked);
                     }
                 }
             });
@@ -157,7 +175,7 @@ public class MarshalResearchGroup extends CfOrgUnitType implements Factory{
 
     @Override
     public void execute() {
-        setCfOrgUnitId(RandomNumeric.getInstance().newId());
+        setCfOrgUnitId(randomNumeric().newId());
 
         createAcro();
         createUrl();
@@ -171,18 +189,19 @@ public class MarshalResearchGroup extends CfOrgUnitType implements Factory{
         createRelationCfPers();
     }
 
-    private CfPersType getIdentifier(String value) {
-        AtomicReference<CfPersType> result = new AtomicReference<>();
-        cfPersTypeList.stream().forEach((CfPersType cfPersType) -> {
-            cfPersType.getCfResIntOrCfKeywOrCfPersPers().forEach((JAXBElement<?> jaxbElement) -> {
-                if(jaxbElement.getDeclaredType().equals(CfFedIdEmbType.class)
-                        && ((CfFedIdEmbType) jaxbElement.getValue()).getCfFedId().equals(value))    result.set(cfPersType);
-            });
-        });
-        return (Objects.isNull(result.get())) ? null : result.get();
+    /**
+     * Unchecked persons created by this entity. They are already in the {@link ConversionContext} it was built with.
+     *
+     * @return
+     */
+    public List<CfPersType> getNewCfPersType() {
+        return Collections.unmodifiableList(newCfPersType);
     }
 
-    public ArrayList<CfPersType> getNewCfPersType() {
-        return newCfPersType.stream().collect(Collectors.toCollection(ArrayList::new));
+    /**
+     * @return ids of the conversion, or the shared generator without context
+     */
+    private RandomNumeric randomNumeric() {
+        return Objects.nonNull(context) ? context.getRandomNumeric() : RandomNumeric.getInstance();
     }
 }
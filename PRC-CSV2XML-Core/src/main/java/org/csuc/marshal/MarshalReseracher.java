@@ -1,5 +1,6 @@
 package org.csuc.marshal;
 
+import org.csuc.csv.ResearcherRow;
 import org.csuc.global.RandomNumeric;
 import org.csuc.typesafe.semantics.ClassId;
 import org.csuc.typesafe.semantics.SchemeId;
@@ -28,9 +29,25 @@ public class MarshalReseracher extends CfPersType implements Factory{
     private String signatureFirstNames;
     private String ae;
     private String typeClass;
+    private RandomNumeric randomNumeric;
 
     public MarshalReseracher(String id, String familyNames, String firstNames, String orcid,
                              String signatureFamilyNames, String signatureFirstNames, String ae, String type) {
+        this(id, familyNames, firstNames, orcid, signatureFamilyNames, signatureFirstNames, ae, type, RandomNumeric.getInstance());
+    }
+
+    /**
+     * @param row           row of the researchers sheet
+     * @param type          verification status
+     * @param randomNumeric ids of the conversion
+     */
+    public MarshalReseracher(ResearcherRow row, String type, RandomNumeric randomNumeric) {
+        this(null, row.getName(), null, row.getOrcid(), row.getSignature(), null, row.getAe(), type, randomNumeric);
+    }
+
+    public MarshalReseracher(String id, String familyNames, String firstNames, String orcid,
+                             String signatureFamilyNames, String signatureFirstNames, String ae, String type,
+                             RandomNumeric randomNumeric) {
 
         this._id = id;
         this.familyNames = familyNames;
@@ -40,6 +57,7 @@ public class MarshalReseracher extends CfPersType implements Factory{
         this.signatureFirstNames = signatureFirstNames;
         this.ae = ae;
         this.typeClass = type;
+        this.randomNumeric = randomNumeric;
 
         execute();
     }
@@ -57,7 +75,7 @@ public class MarshalReseracher extends CfPersType implements Factory{
     private void createPersNamePers(String family, String first, ClassId classId){
         if (family != null) {
             CfPersType.CfPersNamePers persname = new CfPersType.CfPersNamePers();
-            persname.setCfPersNameId(RandomNumeric.getInstance().newId());
+            persname.setCfPersNameId(randomNumeric.newId());
             persname.setCfFamilyNames(family);
             if (first != null) persname.setCfFirstNames(first);
             persname.setCfClassId(Semantics.getClassId(classId));
@@ -95,7 +113,7 @@ public class MarshalReseracher extends CfPersType implements Factory{
 
     @Override
     public void execute() {
-        if(this._id == null)	this._id = RandomNumeric.getInstance().newId();
+        if(this._id == null)	this._id = randomNumeric.newId();
         setCfPersId(_id);
         createEntityClass();
         createPersNamePers(familyNames, firstNames, ClassId.PRESENTED_NAME);
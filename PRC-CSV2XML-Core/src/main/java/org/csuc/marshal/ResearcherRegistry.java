@@ -0,0 +1,64 @@
+package org.csuc.marshal;
+
+import xmlns.org.eurocris.cerif_1.CfFedIdEmbType;
+import xmlns.org.eurocris.cerif_1.CfPersType;
+
+import javax.xml.bind.JAXBElement;
+import java.util.*;
+
+/**
+ * Researchers of a conversion indexed by federated identifier (ORCID), so relation rows are resolved in O(1).
+ *
+ * It is also the list of researchers: every person appended with {@link #add(CfPersType)} or {@link #addAll(Collection)}
+ * is indexed at once. When two persons share an identifier the last one wins, as the former linear lookup did.
+ *
+ * @author amartinez
+ */
+public class ResearcherRegistry extends AbstractList<CfPersType> {
+
+    private List<CfPersType> researchers = new ArrayList<>();
+    private Map<String, CfPersType> index = new HashMap<>();
+
+    public ResearcherRegistry() {
+    }
+
+    public ResearcherRegistry(Collection<? extends CfPersType> researchers) {
+        addAll(researchers);
+    }
+
+    /**
+     * @param fedId federated identifier
+     * @return the researcher or {@code null} if it is unknown
+     */
+    public CfPersType getIdentifier(String fedId) {
+        return index.get(fedId);
+    }
+
+    /**
+     * Only appending is supported.
+     *
+     * @param position
+     * @param cfPersType
+     */
+    @Override
+    public void add(int position, CfPersType cfPersType) {
+        if (position != researchers.size()) throw new UnsupportedOperationException("Only appending is supported");
+        researchers.add(cfPersType);
+        modCount++;
+
+        cfPersType.getCfResIntOrCfKeywOrCfPersPers().forEach((JAXBElement<?> jaxbElement) -> {
+            if (jaxbElement.getDeclaredType().equals(CfFedIdEmbType.class))
+                index.put(((CfFedIdEmbType) jaxbElement.getValue()).getCfFedId(), cfPersType);
+        });
+    }
+
+    @Override
+    public CfPersType get(int position) {
+        return researchers.get(position);
+    }
+
+    @Override
+    public int size() {
+        return researchers.size();
+    }
+}
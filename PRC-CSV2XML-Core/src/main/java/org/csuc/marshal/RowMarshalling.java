@@ -0,0 +1,219 @@
+package org.csuc.marshal;
+
+import org.csuc.jfr.MarshalEvent;
+import org.csuc.jfr.RelationResolutionEvent;
+import org.csuc.utils.ConversionProfile;
+import org.csuc.utils.SHEETS;
+import org.csuc.utils.StreamUtils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Marshals the rows of a sheet into CERIF entities, in the calling thread or in parallel on a fork-join pool. Either
+ * way the entities are handed on in row order, and the unchecked persons the rows create are appended to the context
+ * of the stage in row order, as in a sequential run.
+ *
+ * @author amartinez
+ */
+public final class RowMarshalling {
+
+    /**
+     * Rows per thread mapped at once.
+     */
+    public static final int BATCH = 256;
+
+    private RowMarshalling() {
+    }
+
+    /**
+     * Hands the mapped rows to the consumer in row order. With a pool the rows are read in batches of {@value #BATCH}
+     * per thread, every batch is mapped in parallel on the pool while the next one is read, and its rows are handed
+     * to the consumer in the calling thread. At most two batches are mapped ahead of the consumer, so a consumer that
+     * waits also stops the reading.
+     *
+     * @param rows
+     * @param pool     {@code null} to map the rows in the calling thread
+     * @param mapper
+     * @param consumer called in the calling thread, in row order
+     */
+    public static <R, T> void rows(Stream<R> rows, ForkJoinPool pool, Function<R, T> mapper, Consumer<T> consumer) {
+        if (Objects.isNull(pool)) {
+            rows.map(mapper).forEachOrdered(consumer);
+            return;
+        }
+        int size = BATCH * pool.getParallelism();
+        Iterator<R> iterator = rows.iterator();
+        ForkJoinTask<List<T>> mapped = null;
+        while (true) {
+            List<R> batch = new ArrayList<>(size);
+            while (batch.size() < size && iterator.hasNext()) batch.add(iterator.next());
+            ForkJoinTask<List<T>> next = batch.isEmpty() ? null
+                    : pool.submit(() -> batch.parallelStream().map(mapper).collect(Collectors.toList()));
+            if (Objects.nonNull(mapped)) mapped.join().forEach(consumer);
+            if (Objects.isNull(next)) return;
+            mapped = next;
+        }
+    }
+
+    /**
+     * Marshals the rows of a stage. In parallel every row works on its own context of the researchers, merged into the
+     * stage context in row order, so the unchecked persons are appended as in a sequential run.
+     *
+     * @param sheet
+     * @param rows
+     * @param id         code or identifier of a row
+     * @param pool       {@code null} to marshal the rows in the calling thread, on the stage context
+     * @param context    researchers, not modified while the stage runs
+     * @param stage      context of the stage
+     * @param profile    counters of the stage: rows, entities and unchecked persons
+     * @param marshaller entity of a row, marshalled against the given context
+     * @param output     called in the calling thread, in row order
+     */
+    public static <R, T> void marshal(SHEETS sheet, Stream<R> rows, Function<R, String> id, ForkJoinPool pool,
+                                      ConversionContext context, ConversionContext stage, ConversionProfile.Stage profile,
+                                      BiFunction<R, ConversionContext, T> marshaller, Consumer<? super SheetEntity> output) {
+        Stream<Map.Entry<Long, R>> read = StreamUtils.numbered(rows.peek(row -> profile.rowsIn(1)));
+        BiFunction<Map.Entry<Long, R>, ConversionContext, SheetEntity> entity = (row, rowContext) -> {
+            String entityId = id.apply(row.getValue());
+            return new SheetEntity(sheet, row.getKey(), entityId, resolve(sheet, row.getKey(), entityId, rowContext, profile,
+                    () -> marshal(sheet, row.getKey(), entityId, () -> marshaller.apply(row.getValue(), rowContext))));
+        };
+        Consumer<SheetEntity> written = marshalled -> {
+            profile.rowsOut(1);
+            output.accept(marshalled);
+        };
+        if (Objects.isNull(pool)) {
+            read.forEach(row -> written.accept(entity.apply(row, stage)));
+        } else {
+            rows(read, pool, row -> {
+                ConversionContext rowContext = context.stage();
+                return new AbstractMap.SimpleImmutableEntry<>(entity.apply(row, rowContext), rowContext);
+            }, marshalled -> {
+                stage.addAll(marshalled.getValue());
+                written.accept(marshalled.getKey());
+            });
+        }
+        profile.unchecked(stage.size());
+        profile.entities(profile.getRowsOut() + stage.size());
+    }
+
+    /**
+     * Marshals one row, recorded as a {@link MarshalEvent} when it is slow.
+     *
+     * @param sheet
+     * @param row        position of the row in the sheet
+     * @param entityId   code, identifier or ORCID of the row
+     * @param marshaller
+     * @return the entity
+     */
+    public static <T> T marshal(SHEETS sheet, long row, String entityId, Supplier<T> marshaller) {
+        MarshalEvent event = new MarshalEvent();
+        event.begin();
+        T entity = marshaller.get();
+        if (event.shouldCommit()) {
+            event.sheet = sheet.name();
+            event.row = row;
+            event.entityId = entityId;
+            event.commit();
+        }
+        return entity;
+    }
+
+    /**
+     * Counts the relations the row resolves while it is marshalled, when the stage is profiled or Flight Recorder
+     * records {@link RelationResolutionEvent}. Otherwise the row is only marshalled.
+     *
+     * @param sheet
+     * @param row        position of the row in the sheet
+     * @param entityId   code, identifier or ORCID of the row
+     * @param context    context the row is marshalled on, by this thread only
+     * @param profile    counters of the stage: relation hits and misses
+     * @param marshaller
+     * @return the entity
+     */
+    private static <T> T resolve(SHEETS sheet, long row, String entityId, ConversionContext context,
+                                 ConversionProfile.Stage profile, Supplier<T> marshaller) {
+        RelationResolutionEvent event = new RelationResolutionEvent();
+        if (!profile.isEnabled() && !event.isEnabled()) return marshaller.get();
+
+        ConversionContext.Resolution resolution = new ConversionContext.Resolution();
+        int persons = context.size();
+        context.setResolution(resolution);
+        event.begin();
+        T entity;
+        try {
+            entity = marshaller.get();
+        } finally {
+            context.setResolution(null);
+        }
+        event.end();
+        profile.relations(resolution.getHits(), resolution.getMisses());
+
+        int unchecked = context.size() - persons;
+        int relations = resolution.getHits() + resolution.getMisses() + unchecked;
+        if (relations > 0 && event.shouldCommit()) {
+            event.sheet = sheet.name();
+            event.row = row;
+            event.entityId = entityId;
+            event.relations = relations;
+            event.hits = resolution.getHits();
+            event.misses = resolution.getMisses();
+            event.unchecked = unchecked;
+            event.commit();
+        }
+        return entity;
+    }
+
+    /**
+     * CERIF entity of a row, with the sheet and the row it comes from.
+     */
+    public static final class SheetEntity {
+
+        private final SHEETS sheet;
+        private final long row;
+        private final String id;
+        private final Object value;
+
+        /**
+         * @param sheet {@code null} if the entity does not come from a row of a sheet, like the persons
+         * @param row   position of the row in the sheet, 0 if unknown
+         * @param id    code, identifier or ORCID of the row
+         * @param value
+         */
+        public SheetEntity(SHEETS sheet, long row, String id, Object value) {
+            this.sheet = sheet;
+            this.row = row;
+            this.id = id;
+            this.value = value;
+        }
+
+        public SHEETS getSheet() {
+            return sheet;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.csuc.poi;
+
+import org.csuc.utils.SHEETS;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts every known sheet of a PRC workbook into a temporal CSV file, encoded in UTF-8 as {@link org.csuc.csv.Reading}
+ * reads it.
+ *
+ * @author amartinez
+ */
+public interface SheetExtractor {
+
+    void execute() throws IOException;
+
+    Map<SHEETS, File> getFiles();
+
+    void deleteOnExit();
+}
@@ -0,0 +1,100 @@
+package org.csuc.poi;
+
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.csuc.utils.ColumnMapping;
+import org.csuc.utils.SHEETS;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SAX callback that collects the cells of each row of a sheet into a fixed size array, one cell per expected column of
+ * the sheet, and hands the row to a {@link RowListener}. The first row is the header: the {@link ColumnMapping} of the
+ * sheet is compiled from it and every cell is then stored at the column it maps to. Cells of columns that are not read
+ * are ignored and missing cells are reported as {@code null}.
+ *
+ * @author amartinez
+ */
+public class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+    private SHEETS sheet;
+    private RowListener listener;
+
+    private List<String> header = new ArrayList<>();
+    private ColumnMapping mapping;
+    private String[] cells;
+    private int currentColumn;
+
+    public SheetRowHandler(SHEETS sheet, RowListener listener) {
+        this.sheet = sheet;
+        this.cells = new String[sheet.columns()];
+        this.listener = listener;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+        Arrays.fill(cells, null);
+        currentColumn = -1;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        if (Objects.isNull(mapping)) {
+            mapping = ColumnMapping.compile(sheet, header.toArray(new String[0]));
+            for (int i = 0; i < cells.length; i++)
+                cells[i] = (mapping.column(i) < header.size()) ? header.get(mapping.column(i)) : null;
+            header = null;
+        }
+        try {
+            listener.row(rowNum, cells);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+        currentColumn = (cellReference == null) ? currentColumn + 1 : column(cellReference);
+        if (Objects.isNull(mapping)) {
+            while (header.size() <= currentColumn) header.add(null);
+            header.set(currentColumn, formattedValue);
+            return;
+        }
+        int target = mapping.target(currentColumn);
+        if (target >= 0) cells[target] = formattedValue;
+    }
+
+    @Override
+    public void headerFooter(String text, boolean isHeader, String tagName) {
+    }
+
+    /**
+     * Zero based column index of a cell reference such as {@code "AB12"}.
+     *
+     * @param reference
+     * @return
+     */
+    private static int column(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Receives every row of the sheet. The {@code cells} array is reused between rows, copy it to keep it.
+     */
+    @FunctionalInterface
+    public interface RowListener {
+
+        void row(int rowNum, String[] cells) throws IOException;
+    }
+}
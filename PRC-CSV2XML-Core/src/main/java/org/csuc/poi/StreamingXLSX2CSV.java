@@ -0,0 +1,85 @@
+package org.csuc.poi;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.csuc.jfr.SheetExtractionEvent;
+import org.csuc.utils.SHEETS;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming counterpart of {@link XLSX2CSV}. The workbook is read through the POI event API (SAX) one sheet at a time,
+ * so only the shared strings table and the current row are kept in memory, whatever the size of the workbook.
+ *
+ * Cells are rendered as Excel formats them ({@link DataFormatter}).
+ *
+ * @author amartinez
+ */
+public class StreamingXLSX2CSV implements SheetExtractor {
+
+    private static Logger logger = LogManager.getLogger(StreamingXLSX2CSV.class);
+
+    private File file;
+
+    private char SEPARATOR;
+    private String ENDOFLINESYMBOLS;
+
+    private Map<SHEETS, File> files = new HashMap<>();
+
+    public StreamingXLSX2CSV(String file, char delimiter, String endOfLineSymbols) {
+        this(new File(file), delimiter, endOfLineSymbols);
+    }
+
+    public StreamingXLSX2CSV(File file, char delimiter, String endOfLineSymbols) {
+        this.file = file;
+        SEPARATOR = delimiter;
+        ENDOFLINESYMBOLS = endOfLineSymbols;
+    }
+
+    /**
+     * @throws IOException
+     */
+    @Override
+    public void execute() throws IOException {
+        WorkbookSheets.read(file, (name, sheet, parser) -> {
+            SheetExtractionEvent event = new SheetExtractionEvent();
+            event.begin();
+            File temporal = File.createTempFile(name, ".csv");
+            long[] rows = {0};
+
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporal), StandardCharsets.UTF_8))) {
+                parser.parse(new SheetRowHandler(sheet, (rowNum, cells) -> {
+                    for (int rn = 0; rn < cells.length; rn++) {
+                        if (rn > 0) writer.write(SEPARATOR);
+                        XLSX2CSV.writeValue(writer, cells[rn], SEPARATOR);
+                    }
+                    writer.write(ENDOFLINESYMBOLS);
+                    rows[0]++;
+                }));
+            }
+            if (event.shouldCommit()) {
+                event.sheet = sheet.name();
+                event.rows = rows[0];
+                event.file = temporal.toString();
+                event.commit();
+            }
+            files.putIfAbsent(sheet, temporal);
+        });
+    }
+
+    @Override
+    public void deleteOnExit() {
+        if (Objects.nonNull(files) && !files.isEmpty())
+            files.values().forEach(File::deleteOnExit);
+    }
+
+    @Override
+    public Map<SHEETS, File> getFiles() {
+        return files;
+    }
+}
@@ -0,0 +1,352 @@
+package org.csuc.poi;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.csuc.utils.DocumentTypes;
+import org.csuc.utils.SHEETS;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Synthetic PRC data: a workbook with the nine {@link SHEETS}, or the matching CSV files, that the conversion reads
+ * without errors. Every code and ORCID is unique and every relation points to an existing entity; relations with
+ * an ORCID point to an existing researcher, the other ones become unchecked persons.
+ *
+ * Every entity has between one and {@code 2 * fanOut - 1} relation rows, {@code fanOut} on average, and one
+ * publication in {@value #COLLABORATION} has {@value #COLLABORATION_AUTHORS} times as many authors. The data only
+ * depends on the settings and the seed, so the workbook and the CSV files of the same generator have the same rows.
+ *
+ * The workbook is streamed through SXSSF and the CSV files are written row by row: the rows are never held in
+ * memory, whatever their number.
+ *
+ * @author amartinez
+ */
+public class WorkbookGenerator {
+
+    private static final int WINDOW = 100;
+    private static final int BUFFER = 64 * 1024;
+
+    private static final int COLLABORATION = 100;
+    private static final int COLLABORATION_AUTHORS = 20;
+
+    private static final LocalDate EPOCH = LocalDate.of(2000, 1, 1);
+    private static final int DAYS = 20 * 365;
+
+    private static final String[] PROGRAMMES = {"Plan Estatal", "Horizon 2020", "FP7", "AGAUR", "La Caixa"};
+
+    private int researchers = 1000;
+    private int departments = 20;
+    private int researchGroups = 50;
+    private int projects = 200;
+    private int publications = 2000;
+    private Map<SHEETS, Integer> fanOut = new EnumMap<>(SHEETS.class);
+    private double orcidRatio = 0.9;
+    private long seed = 0;
+
+    public WorkbookGenerator() {
+        fanOut.put(SHEETS.departments_relations, 20);
+        fanOut.put(SHEETS.research_groups_relations, 8);
+        fanOut.put(SHEETS.projects_relations, 4);
+        fanOut.put(SHEETS.publication_relations, 5);
+    }
+
+    public void setResearchers(int researchers) {
+        this.researchers = count(researchers);
+    }
+
+    public void setDepartments(int departments) {
+        this.departments = count(departments);
+    }
+
+    public void setResearchGroups(int researchGroups) {
+        this.researchGroups = count(researchGroups);
+    }
+
+    public void setProjects(int projects) {
+        this.projects = count(projects);
+    }
+
+    public void setPublications(int publications) {
+        this.publications = count(publications);
+    }
+
+    /**
+     * @param sheet  one of the relation sheets
+     * @param fanOut relation rows per entity, on average. {@code 0} for no relations
+     */
+    public void setFanOut(SHEETS sheet, int fanOut) {
+        if (!this.fanOut.containsKey(sheet)) throw new IllegalArgumentException(String.format("%s is not a relation sheet", sheet));
+        this.fanOut.put(sheet, count(fanOut));
+    }
+
+    /**
+     * @param orcidRatio share of the group, project and publication relations with an ORCID, between 0 and 1. The
+     *                   department relations always have one
+     */
+    public void setOrcidRatio(double orcidRatio) {
+        if (orcidRatio < 0 || orcidRatio > 1) throw new IllegalArgumentException(String.format("%s illegal ORCID ratio", orcidRatio));
+        this.orcidRatio = orcidRatio;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Writes the nine sheets, with the headers of the PRC template.
+     *
+     * @param file xlsx file
+     * @throws IOException
+     */
+    public void writeWorkbook(File file) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(WINDOW);
+        try (OutputStream out = new FileOutputStream(file)) {
+            for (SHEETS kind : SHEETS.values()) {
+                Sheet sheet = workbook.createSheet(kind.value());
+                write(sheet.createRow(0), header(kind));
+                generate(kind, cells -> write(sheet.createRow(sheet.getLastRowNum() + 1), cells));
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Writes one CSV file per sheet, named after the sheet, as {@link XLSX2CSV} would extract them.
+     *
+     * @param directory        existing directory
+     * @param delimiter
+     * @param endOfLineSymbols
+     * @return the file of every sheet
+     * @throws IOException
+     */
+    public Map<SHEETS, File> writeCSV(File directory, char delimiter, String endOfLineSymbols) throws IOException {
+        Map<SHEETS, File> files = new EnumMap<>(SHEETS.class);
+        for (SHEETS sheet : SHEETS.values()) {
+            File file = new File(directory, sheet.name() + ".csv");
+            writeCSV(sheet, file, delimiter, endOfLineSymbols);
+            files.put(sheet, file);
+        }
+        return files;
+    }
+
+    /**
+     * @param sheet
+     * @param file             UTF-8 CSV file, with the header of the PRC template
+     * @param delimiter
+     * @param endOfLineSymbols
+     * @throws IOException
+     */
+    public void writeCSV(SHEETS sheet, File file, char delimiter, String endOfLineSymbols) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER)) {
+            write(writer, header(sheet), delimiter, endOfLineSymbols);
+            generate(sheet, cells -> {
+                try {
+                    write(writer, cells, delimiter, endOfLineSymbols);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Generates the rows of a sheet, without the header.
+     *
+     * @param sheet
+     * @param consumer receives the cells of every row, {@code null} for an empty cell
+     */
+    public void generate(SHEETS sheet, Consumer<String[]> consumer) {
+        Random random = new Random(seed * 31 + sheet.ordinal());
+        switch (sheet) {
+            case researchers:
+                for (int i = 0; i < researchers; i++)
+                    consumer.accept(new String[]{name(i), orcid(i), "Cognom" + i + ", N.", "nom" + i + "@example.org"});
+                break;
+            case departments:
+                for (int i = 0; i < departments; i++)
+                    consumer.accept(new String[]{String.format("Departament %d", i), String.format("DEP%d", i),
+                            String.format("Carrer %d, 08001 Barcelona", i), String.format("https://example.org/departament/%d", i),
+                            String.format("departament%d@example.org", i), departmentCode(i), String.format("93%07d", random.nextInt(10_000_000))});
+                break;
+            case departments_relations:
+                for (int i = 0; i < departments && researchers > 0; i++) {
+                    String code = departmentCode(i);
+                    int members = members(sheet, random);
+                    int first = random.nextInt(researchers);
+                    for (int j = 0; j < members; j++)
+                        consumer.accept(new String[]{code, orcid((first + j) % researchers)});
+                }
+                break;
+            case research_groups:
+                for (int i = 0; i < researchGroups; i++)
+                    consumer.accept(new String[]{String.format("Grup de recerca %d", i), String.format("GR%d", i),
+                            String.format("https://example.org/grup/%d", i), String.format("grup%d@example.org", i), groupCode(i),
+                            String.format("%dSGR%d", 2014 + random.nextInt(4) * 3, i), dateTime(date(random))});
+                break;
+            case research_groups_relations:
+                relations(sheet, researchGroups, WorkbookGenerator::groupCode, random, consumer);
+                break;
+            case projects:
+                for (int i = 0; i < projects; i++) {
+                    LocalDate start = date(random);
+                    consumer.accept(new String[]{String.format("Projecte de recerca %d", i), String.format("https://example.org/projecte/%d", i),
+                            String.format("PID%d-%06d", start.getYear(), i), projectCode(i), PROGRAMMES[random.nextInt(PROGRAMMES.length)],
+                            dateTime(start), dateTime(start.plusYears(1 + random.nextInt(4)).minusDays(1))});
+                }
+                break;
+            case projects_relations:
+                relations(sheet, projects, WorkbookGenerator::projectCode, random, consumer);
+                break;
+            case publications:
+                for (int i = 0; i < publications; i++) {
+                    DocumentTypes type = documentType(i);
+                    int startPage = 1 + random.nextInt(500);
+                    consumer.accept(new String[]{"Publicació " + i, publicationId(i), "10.5555/prc." + i,
+                            "https://hdl.handle.net/2072/" + i, String.valueOf(1 + random.nextInt(12)),
+                            String.valueOf(1 + random.nextInt(80)), String.valueOf(startPage), String.valueOf(startPage + random.nextInt(40)),
+                            (type == DocumentTypes.JOURNAL_ARTICLE) ? null : "978-84-" + (10_000 + i % 90_000) + "-" + (10 + i / 90_000 % 90) + "-0",
+                            (type == DocumentTypes.JOURNAL_ARTICLE) ? (1000 + random.nextInt(9000)) + "-" + (1000 + random.nextInt(9000)) : null,
+                            date(random).toString(), "Revista " + random.nextInt(100), "Editorial " + random.nextInt(50),
+                            type.value(), (random.nextInt(10) == 0) ? "Grup d'autors " + i : null});
+                }
+                break;
+            case publication_relations:
+                relations(sheet, publications, WorkbookGenerator::publicationId, random, consumer);
+                break;
+            default:
+                throw new IllegalArgumentException(sheet.toString());
+        }
+    }
+
+    /**
+     * Relations of the groups, projects or publications: the first member is the principal investigator, or the
+     * author of a thesis, and the second one directs the thesis.
+     */
+    private void relations(SHEETS sheet, int entities, IntFunction<String> code, Random random, Consumer<String[]> consumer) {
+        int extern = 0;
+        for (int i = 0; i < entities; i++) {
+            String entity = code.apply(i);
+            int members = members(sheet, random);
+            if (sheet == SHEETS.publication_relations && random.nextInt(COLLABORATION) == 0) members *= COLLABORATION_AUTHORS;
+
+            int first = (researchers > 0) ? random.nextInt(researchers) : 0;
+            for (int j = 0; j < members; j++) {
+                String role;
+                if (sheet == SHEETS.publication_relations)
+                    role = (j == 1 && documentType(i) == DocumentTypes.PHD_THESIS) ? "si" : "no";
+                else role = (j == 0) ? "si" : "no";
+
+                if (researchers > 0 && random.nextDouble() < orcidRatio) {
+                    int researcher = (first + j) % researchers;
+                    consumer.accept(new String[]{entity, name(researcher), orcid(researcher), role});
+                } else consumer.accept(new String[]{entity, "Extern" + extern++ + ", Nom", null, role});
+            }
+        }
+    }
+
+    private int members(SHEETS sheet, Random random) {
+        int mean = fanOut.get(sheet);
+        return (mean == 0) ? 0 : 1 + random.nextInt(2 * mean - 1);
+    }
+
+    /**
+     * @param researcher zero based researcher
+     * @return ORCID of the researcher, with a valid ISO 7064 11,2 check digit
+     */
+    public static String orcid(int researcher) {
+        StringBuilder orcid = new StringBuilder(19).append(15_000_000L + researcher);
+        while (orcid.length() < 15) orcid.insert(0, '0');
+        int total = 0;
+        for (int i = 0; i < orcid.length(); i++) total = (total + orcid.charAt(i) - '0') * 2;
+        int check = (12 - total % 11) % 11;
+        orcid.append((check == 10) ? 'X' : (char) ('0' + check));
+        return orcid.insert(12, '-').insert(8, '-').insert(4, '-').toString();
+    }
+
+    private static String name(int researcher) {
+        return "Cognom" + researcher + ", Nom" + researcher;
+    }
+
+    private static String departmentCode(int department) {
+        return String.format("D%05d", department);
+    }
+
+    private static String groupCode(int group) {
+        return String.format("GR%05d", group);
+    }
+
+    private static String projectCode(int project) {
+        return String.format("PR%06d", project);
+    }
+
+    private static String publicationId(int publication) {
+        return String.format("PUB%07d", publication);
+    }
+
+    private static DocumentTypes documentType(int publication) {
+        // mostly articles, as in the PRC of the universities
+        switch (publication % 10) {
+            case 7:
+                return DocumentTypes.CHAPTER_IN_BOOK;
+            case 8:
+                return DocumentTypes.BOOK;
+            case 9:
+                return DocumentTypes.PHD_THESIS;
+            default:
+                return DocumentTypes.JOURNAL_ARTICLE;
+        }
+    }
+
+    private static LocalDate date(Random random) {
+        return EPOCH.plusDays(random.nextInt(DAYS));
+    }
+
+    private static String dateTime(LocalDate date) {
+        return date + "T00:00:00";
+    }
+
+    private static String[] header(SHEETS sheet) {
+        String[] header = new String[sheet.columns()];
+        for (int i = 0; i < header.length; i++) header[i] = sheet.headers(i)[0];
+        return header;
+    }
+
+    private static void write(Row row, String[] cells) {
+        for (int i = 0; i < cells.length; i++)
+            if (Objects.nonNull(cells[i])) row.createCell(i).setCellValue(cells[i]);
+    }
+
+    private static void write(Writer writer, String[] cells, char delimiter, String endOfLineSymbols) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) writer.write(delimiter);
+            XLSX2CSV.writeValue(writer, cells[i], delimiter);
+        }
+        writer.write(endOfLineSymbols);
+    }
+
+    private static int count(int count) {
+        if (count < 0) throw new IllegalArgumentException(String.format("%s illegal count", count));
+        return count;
+    }
+}
@@ -0,0 +1,141 @@
+package org.csuc.poi;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.csuc.csv.RowSource;
+import org.csuc.jfr.CsvReadEvent;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link RowSource} over the rows of a sheet already read into memory. Empty cells are {@code null}, as Super CSV
+ * reads them, and empty rows are skipped.
+ *
+ * @author amartinez
+ */
+public class WorkbookRowSource implements RowSource {
+
+    private static Logger logger = LogManager.getLogger(WorkbookRowSource.class);
+
+    private String sheet;
+    private List<String[]> rows;
+
+    /**
+     * @param sheet sheet name
+     * @param rows  rows without the header
+     */
+    public WorkbookRowSource(String sheet, List<String[]> rows) {
+        this.sheet = sheet;
+        this.rows = rows;
+    }
+
+    @Override
+    public List<List<Object>> read(CellProcessor[] cellProcessors, int sizeCol) throws Exception {
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
+        List<List<Object>> result = new ArrayList<>();
+
+        int i = 0;
+        try {
+            for (; i < rows.size(); i++) {
+                List<Object> customerList = row(i, cellProcessors, sizeCol);
+                if (Objects.nonNull(customerList)) result.add(customerList);
+            }
+        } catch (SuperCsvCellProcessorException e) {
+            logger.error(e);
+        } finally {
+            commit(event, i);
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    @Override
+    public Stream<List<Object>> stream(CellProcessor[] cellProcessors, int sizeCol) {
+        CsvReadEvent event = new CsvReadEvent();
+        event.begin();
+        int[] read = {0};
+        boolean[] closed = {false};
+        Runnable close = () -> {
+            if (closed[0]) return;
+            closed[0] = true;
+            commit(event, read[0]);
+        };
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<List<Object>>(rows.size(), Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int i = 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super List<Object>> action) {
+                try {
+                    while (i < rows.size()) {
+                        List<Object> customerList = row(i++, cellProcessors, sizeCol);
+                        read[0] = i;
+                        if (Objects.nonNull(customerList)) {
+                            action.accept(customerList);
+                            return true;
+                        }
+                    }
+                } catch (SuperCsvCellProcessorException e) {
+                    logger.error(e);
+                    i = rows.size();
+                }
+                close.run();
+                return false;
+            }
+        }, false).onClose(close);
+    }
+
+    /**
+     * Commits the read of the sheet, if Flight Recorder records it.
+     *
+     * @param event started before the first row
+     * @param rows  rows read, the header left out
+     */
+    private void commit(CsvReadEvent event, int rows) {
+        if (!event.shouldCommit()) return;
+        event.file = sheet;
+        event.rows = rows;
+        event.commit();
+    }
+
+    /**
+     * @param i              index of the row
+     * @param cellProcessors
+     * @param sizeCol
+     * @return the processed row or {@code null} if it is empty
+     */
+    private List<Object> row(int i, CellProcessor[] cellProcessors, int sizeCol) {
+        String[] cells = rows.get(i);
+        if (!Objects.equals(cells.length, sizeCol))
+            throw new IllegalArgumentException(String.format("Sheet: %s, RownNumber: %s value: %s invalid size row %s",
+                    sheet, i + 2, Arrays.toString(cells), cells.length));
+
+        List<Object> source = new ArrayList<>(cells.length);
+        boolean empty = true;
+        for (String cell : cells) {
+            source.add((Objects.isNull(cell) || cell.isEmpty()) ? null : cell);
+            empty &= Objects.isNull(cell) || cell.isEmpty();
+        }
+        if (empty) return null;
+
+        List<Object> customerList = new ArrayList<>(cells.length);
+        Util.executeCellProcessors(customerList, source, cellProcessors, i + 2, i + 2);
+        logger.debug("Sheet: {}  Row: {}  Data:  {}", sheet, i + 2, customerList);
+        return customerList;
+    }
+
+    @Override
+    public String toString() {
+        return sheet;
+    }
+}
@@ -0,0 +1,101 @@
+package org.csuc.poi;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.csuc.utils.SHEETS;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Walks the known sheets of a workbook with the POI event API (SAX).
+ *
+ * @author amartinez
+ */
+class WorkbookSheets {
+
+    private static Logger logger = LogManager.getLogger(WorkbookSheets.class);
+
+    private WorkbookSheets() {
+    }
+
+    /**
+     * Calls the visitor once per known sheet, in workbook order. Unknown sheets are logged and skipped.
+     *
+     * @param file
+     * @param visitor
+     * @throws IOException
+     */
+    static void read(File file, SheetVisitor visitor) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (iterator.hasNext()) {
+                try (InputStream stream = iterator.next()) {
+                    SHEETS sheet;
+                    try {
+                        sheet = SHEETS.convert(iterator.getSheetName());
+                    } catch (Exception e) {
+                        logger.error(e);
+                        continue;
+                    }
+                    visitor.visit(iterator.getSheetName(), sheet, handler -> parse(styles, strings, handler, stream));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e);
+        } finally {
+            if (Objects.nonNull(pkg)) pkg.revert();
+        }
+    }
+
+    /**
+     * @param styles
+     * @param strings
+     * @param handler
+     * @param stream
+     */
+    private static void parse(StylesTable styles, ReadOnlySharedStringsTable strings,
+                              XSSFSheetXMLHandler.SheetContentsHandler handler, InputStream stream)
+            throws IOException, SAXException, ParserConfigurationException {
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, handler, new DataFormatter(), false));
+        parser.parse(new InputSource(stream));
+    }
+
+    @FunctionalInterface
+    interface SheetVisitor {
+
+        void visit(String name, SHEETS sheet, SheetParser parser) throws IOException, SAXException, ParserConfigurationException;
+    }
+
+    @FunctionalInterface
+    interface SheetParser {
+
+        void parse(XSSFSheetXMLHandler.SheetContentsHandler handler) throws IOException, SAXException, ParserConfigurationException;
+    }
+}
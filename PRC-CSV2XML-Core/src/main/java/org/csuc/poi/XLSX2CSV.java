@@ -2,36 +2,43 @@ package org.csuc.poi;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.csuc.jfr.SheetExtractionEvent;
+import org.csuc.utils.ColumnMapping;
 import org.csuc.utils.SHEETS;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 
 /**
  * @author amartinez
  */
-public class XLSX2CSV {
+public class XLSX2CSV implements SheetExtractor {
 
     private static Logger logger = LogManager.getLogger(XLSX2CSV.class);
 
+    private static final int BUFFER = 64 * 1024;
+
     private XSSFWorkbook workbook;
 
     private char SEPARATOR;
     private String ENDOFLINESYMBOLS;
-    private Pattern rxquote = Pattern.compile("\"");
 
     private Map<SHEETS, File> files = new HashMap<>();
 
+    private int threads = 1;
+
     public XLSX2CSV(String file, char delimiter, String endOfLineSymbols) throws IOException {
         workbook = new XSSFWorkbook (new FileInputStream(file));
         //workbook = WorkbookFactory.create(new File(file));
@@ -59,102 +66,150 @@ public class XLSX2CSV {
     }
 
     /**
+     * Sheets are extracted concurrently when there is more than one thread.
+     *
+     * @param threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Extracts every known sheet, one task per sheet. The workbook, shared strings included, is only read by the
+     * tasks, and every task writes its own temporal file.
+     *
      * @throws IOException
      */
+    @Override
     public void execute() throws IOException {
-        workbook.forEach(sheet -> {
-            try {
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.researchers))
-                    save(sheet.getSheetName(), foreachCell(sheet, 4));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.departments))
-                    save(sheet.getSheetName(), foreachCell(sheet, 7));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.departments_relations))
-                    save(sheet.getSheetName(), foreachCell(sheet, 2));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.research_groups))
-                    save(sheet.getSheetName(), foreachCell(sheet, 7));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.research_groups_relations))
-                    save(sheet.getSheetName(), foreachCell(sheet, 4));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.projects))
-                    save(sheet.getSheetName(), foreachCell(sheet, 7));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.projects_relations))
-                    save(sheet.getSheetName(), foreachCell(sheet, 4));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.publications))
-                    save(sheet.getSheetName(), foreachCell(sheet, 15));
-                if (SHEETS.convert(sheet.getSheetName()).equals(SHEETS.publication_relations))
-                    save(sheet.getSheetName(), foreachCell(sheet, 4));
-            } catch (Exception e) {
-                logger.error(e);
-            }
-        });
-        workbook.close();
+        List<Sheet> sheets = new ArrayList<>();
+        workbook.forEach(sheets::add);
+
+        ExecutorService executor = (threads > 1 && sheets.size() > 1) ? Executors.newFixedThreadPool(Math.min(threads, sheets.size())) : null;
+        try {
+            List<CompletableFuture<Map.Entry<SHEETS, File>>> tasks = sheets.stream()
+                    .map(sheet -> Objects.isNull(executor)
+                            ? CompletableFuture.completedFuture(extract(sheet))
+                            : CompletableFuture.supplyAsync(() -> extract(sheet), executor))
+                    .collect(Collectors.toList());
+
+            // workbook order, the first sheet of a kind wins
+            tasks.stream().map(CompletableFuture::join).filter(Objects::nonNull)
+                    .forEach(extracted -> files.putIfAbsent(extracted.getKey(), extracted.getValue()));
+        } finally {
+            if (Objects.nonNull(executor)) executor.shutdownNow();
+            workbook.close();
+        }
     }
 
     /**
+     * @param sheet
+     * @return the kind of sheet and its temporal file, or {@code null} if the sheet is unknown or cannot be saved
+     */
+    private Map.Entry<SHEETS, File> extract(Sheet sheet) {
+        try {
+            SHEETS kind = SHEETS.convert(sheet.getSheetName());
+            return new AbstractMap.SimpleImmutableEntry<>(kind, save(sheet, kind));
+        } catch (Exception e) {
+            logger.error(e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the sheet straight to its temporal file, one row at a time. The first row is the header, the columns are
+     * written in the order the sheet expects them, see {@link ColumnMapping}.
      *
      * @param sheet
-     * @param max
-     * @return
+     * @param kind
+     * @return temporal file, UTF-8
+     * @throws IOException
      */
-    private String foreachCell(Sheet sheet, int max) {
-        StringBuffer buffer = new StringBuffer();
-        sheet.forEach(row -> {
-            boolean firstCell = true;
-            for (int rn = 0; rn < max; rn++) {
-                if ( ! firstCell ) buffer.append(SEPARATOR);
-                if (row.getCell(rn) == null || row.getCell(rn).toString().isEmpty()) buffer.append("\"\"");
-                else    buffer.append(encodeValue(row.getCell(rn).toString(), SEPARATOR));
-                firstCell = false;
+    private File save(Sheet sheet, SHEETS kind) throws IOException {
+        SheetExtractionEvent event = new SheetExtractionEvent();
+        event.begin();
+        File temporal = File.createTempFile(sheet.getSheetName(), ".csv");
+        long rows = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporal), StandardCharsets.UTF_8), BUFFER)) {
+            ColumnMapping mapping = null;
+            for (Row row : sheet) {
+                if (Objects.isNull(mapping)) mapping = ColumnMapping.compile(kind, header(row));
+                for (int rn = 0; rn < mapping.columns(); rn++) {
+                    if (rn > 0) writer.write(SEPARATOR);
+                    Cell cell = row.getCell(mapping.column(rn));
+                    writeValue(writer, Objects.isNull(cell) ? null : cell.toString(), SEPARATOR);
+                }
+                writer.write(ENDOFLINESYMBOLS);
+                rows++;
             }
-            buffer.append(ENDOFLINESYMBOLS);
-        });
-        return buffer.toString();
+        }
+        if (event.shouldCommit()) {
+            event.sheet = kind.name();
+            event.rows = rows;
+            event.file = temporal.toString();
+            event.commit();
+        }
+        return temporal;
     }
 
     /**
-     *
-     * @param value
-     * @return
+     * @param row
+     * @return the cells of the header row
      */
-    private String encodeValue(String value, char delimiter){
-        boolean needQuotes = false;
-        if ( value.indexOf(',') != -1 || value.indexOf(';') != -1 ||
-                value.indexOf('"') != -1 || value.indexOf('\n') != -1 ||
-                value.indexOf('\r') != -1 || value.indexOf('\t') != -1 ||
-                value.indexOf(delimiter) != -1)
-
-            needQuotes = true;
-        Matcher m = rxquote.matcher(value);
-        if ( m.find() ) needQuotes = true; value = m.replaceAll("\"\"");
-        if ( needQuotes ) return "\"" + value + "\"";
-        else return value;
+    private static String[] header(Row row) {
+        String[] header = new String[Math.max(row.getLastCellNum(), 0)];
+        for (int i = 0; i < header.length; i++) {
+            Cell cell = row.getCell(i);
+            header[i] = Objects.isNull(cell) ? null : cell.toString();
+        }
+        return header;
     }
 
     /**
-     * @param filename
-     * @param content
+     * Writes a cell value, quoted when it contains a separator, a quote or a line break. Quotes are doubled and empty
+     * values are written as {@code ""}. Values without special characters are written as they are.
+     *
+     * @param writer
+     * @param value
+     * @param delimiter
+     * @throws IOException
      */
-    private void save(String filename, String content) {
-        try {
-            File temporal = File.createTempFile(filename, ".csv");
-            Files.write(temporal.toPath(), content.getBytes());
+    static void writeValue(Writer writer, String value, char delimiter) throws IOException {
+        if (Objects.isNull(value) || value.isEmpty()) {
+            writer.write("\"\"");
+            return;
+        }
 
-            files.putIfAbsent(SHEETS.convert(filename), temporal);
-        } catch (IOException e) {
-            logger.error(e);
-        } catch (Exception e) {
-            e.printStackTrace();
+        boolean needQuotes = false;
+        for (int i = 0; i < value.length() && !needQuotes; i++) {
+            char c = value.charAt(i);
+            needQuotes = c == ',' || c == ';' || c == '"' || c == '\n' || c == '\r' || c == '\t' || c == delimiter;
+        }
+        if (!needQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
         }
+        writer.write('"');
     }
 
     private boolean isLast(int i, int max) {
         return (i++ == max - 1);
     }
 
+    @Override
     public void deleteOnExit() {
         if (Objects.nonNull(files) && !files.isEmpty())
             files.entrySet().forEach(file -> file.getValue().deleteOnExit());
     }
 
+    @Override
     public Map<SHEETS, File> getFiles() {
         return files;
     }
@@ -0,0 +1,59 @@
+package org.csuc.poi;
+
+import org.csuc.csv.RowSource;
+import org.csuc.jfr.SheetExtractionEvent;
+import org.csuc.utils.SHEETS;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the known sheets of a workbook straight into memory as {@link RowSource}s, without the temporal CSV files
+ * written by {@link XLSX2CSV}. The workbook is parsed with the POI event API, one sheet at a time.
+ *
+ * @author amartinez
+ */
+public class XLSX2RowSource {
+
+    private File file;
+
+    private Map<SHEETS, RowSource> sources = new EnumMap<>(SHEETS.class);
+
+    public XLSX2RowSource(String file) {
+        this(new File(file));
+    }
+
+    public XLSX2RowSource(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @throws IOException
+     */
+    public void execute() throws IOException {
+        WorkbookSheets.read(file, (name, sheet, parser) -> {
+            SheetExtractionEvent event = new SheetExtractionEvent();
+            event.begin();
+            List<String[]> rows = new ArrayList<>();
+            boolean[] header = {false};
+            parser.parse(new SheetRowHandler(sheet, (rowNum, cells) -> {
+                if (header[0]) rows.add(cells.clone());
+                else header[0] = true;
+            }));
+            if (event.shouldCommit()) {
+                event.sheet = sheet.name();
+                event.rows = header[0] ? rows.size() + 1 : 0;
+                event.commit();
+            }
+            sources.putIfAbsent(sheet, new WorkbookRowSource(name, rows));
+        });
+    }
+
+    public Map<SHEETS, RowSource> getRowSources() {
+        return sources;
+    }
+}
@@ -0,0 +1,53 @@
+package org.csuc.typesafe;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalogue of codes (code &rarr; institution name) parsed once from a JSON resource and kept in a hash index.
+ * Catalogues are shared by every conversion of the JVM.
+ *
+ * @author amartinez
+ */
+public class CodeRegistry {
+
+    private static Map<String, CodeRegistry> registries = new ConcurrentHashMap<>();
+
+    private Map<String, String> names;
+
+    private CodeRegistry(String resource) {
+        Map<String, String> index = new HashMap<>();
+        for (Map.Entry<String, ConfigValue> entry : ConfigFactory.parseResources(resource).root().entrySet())
+            index.put(entry.getKey(), String.valueOf(entry.getValue().unwrapped()));
+        names = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @param resource classpath resource, e.g. {@code ruct.json}
+     * @return the catalogue, parsed on first use
+     */
+    public static CodeRegistry of(String resource) {
+        return registries.computeIfAbsent(resource, CodeRegistry::new);
+    }
+
+    public boolean contains(String code) {
+        return names.containsKey(code);
+    }
+
+    /**
+     * @param code
+     * @return the institution name or {@code null} if the code is unknown
+     */
+    public String getName(String code) {
+        return names.get(code);
+    }
+
+    public Map<String, String> getNames() {
+        return names;
+    }
+}
@@ -1,22 +1,23 @@
 package org.csuc.typesafe.altres;
 
-import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
-
-import java.util.Map;
-import java.util.Objects;
+import org.csuc.typesafe.CodeRegistry;
 
 /**
  * @author amartinez
  */
 public class Altres {
 
+    private static CodeRegistry registry = CodeRegistry.of("altres.json");
+
     public static boolean isValidCode(String code){
-        Config conf = ConfigFactory.load("altres.json");
+        return registry.contains(code);
+    }
 
-        return conf.entrySet()
-                .stream()
-                .filter(entry -> Objects.equals(entry.getKey(), code))
-                .map(Map.Entry::getKey).findFirst().isPresent();
+    /**
+     * @param code
+     * @return the institution name or {@code null} if the code is unknown
+     */
+    public static String getName(String code){
+        return registry.getName(code);
     }
 }
@@ -1,22 +1,23 @@
 package org.csuc.typesafe.ruct;
 
-import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
-
-import java.util.Map;
-import java.util.Objects;
+import org.csuc.typesafe.CodeRegistry;
 
 /**
  * @author amartinez
  */
 public class Ruct {
 
+    private static CodeRegistry registry = CodeRegistry.of("ruct.json");
+
     public static boolean isValidRuct(String code){
-        Config conf = ConfigFactory.load("ruct.json");
+        return registry.contains(code);
+    }
 
-        return conf.entrySet()
-                .stream()
-                .filter(entry -> Objects.equals(entry.getKey(), code))
-                .map(Map.Entry::getKey).findFirst().isPresent();
+    /**
+     * @param code
+     * @return the institution name or {@code null} if the code is unknown
+     */
+    public static String getName(String code){
+        return registry.getName(code);
     }
 }
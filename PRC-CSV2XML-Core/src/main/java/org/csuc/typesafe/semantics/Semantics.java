@@ -2,21 +2,79 @@ package org.csuc.typesafe.semantics;
 
 
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigBeanFactory;
+import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
 /**
+ * CERIF semantics vocabulary. {@code semantics.conf} is read once into {@link EnumMap}s, so every lookup is an array
+ * index. {@link #load(Config)} replaces the vocabulary with an alternate one.
+ *
  * @author amartinez
  */
 public class Semantics {
 
+    private static volatile Vocabulary vocabulary = new Vocabulary(ConfigFactory.load("semantics.conf"));
+
     public static String getSchemaId(SchemeId id){
-        Config conf = ConfigFactory.load("semantics.conf");
-        return conf.getObject("schemeId").toConfig().getString(id.name());
+        return vocabulary.get(vocabulary.schemeId, "schemeId", id);
     }
 
     public static String getClassId(ClassId id){
-        Config conf = ConfigFactory.load("semantics.conf");
-        return conf.getObject("classId").toConfig().getString(id.name());
+        return vocabulary.get(vocabulary.classId, "classId", id);
+    }
+
+    /**
+     * Replaces the vocabulary with the {@code schemeId} and {@code classId} objects of the resource.
+     *
+     * @param resource classpath resource, as {@link ConfigFactory#load(String)}
+     */
+    public static void load(String resource){
+        load(ConfigFactory.load(resource));
+    }
+
+    /**
+     * Replaces the vocabulary with the {@code schemeId} and {@code classId} objects of the config. Ids missing from it
+     * fail when they are looked up, as they always did.
+     *
+     * @param conf
+     */
+    public static void load(Config conf){
+        vocabulary = new Vocabulary(conf);
+    }
+
+    /**
+     * Both tables of one vocabulary, swapped at once by {@link #load(Config)}.
+     */
+    private static class Vocabulary {
+
+        private final Map<SchemeId, String> schemeId;
+        private final Map<ClassId, String> classId;
+
+        Vocabulary(Config conf){
+            schemeId = Collections.unmodifiableMap(table(conf, "schemeId", SchemeId.class));
+            classId = Collections.unmodifiableMap(table(conf, "classId", ClassId.class));
+        }
+
+        private static <E extends Enum<E>> EnumMap<E, String> table(Config conf, String path, Class<E> type){
+            EnumMap<E, String> table = new EnumMap<>(type);
+            if(!conf.hasPath(path)) return table;
+
+            Config ids = conf.getObject(path).toConfig();
+            for (E id : type.getEnumConstants()) {
+                if(ids.hasPath(id.name())) table.put(id, ids.getString(id.name()));
+            }
+            return table;
+        }
+
+        private <E extends Enum<E>> String get(Map<E, String> table, String path, E id){
+            String value = table.get(id);
+            if(Objects.isNull(value)) throw new ConfigException.Missing(path + "." + id.name());
+            return value;
+        }
     }
 }
@@ -0,0 +1,153 @@
+package org.csuc.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columns of a sheet resolved by the names of its header, compiled once per file. Headers are compared without case,
+ * accents, spaces nor punctuation against the {@link SHEETS#headers(int)} of the sheet, so reordered or extra columns
+ * are read as the sheet expects. A header that does not name every expected column is rejected: reading it by position
+ * would mis-map its rows without a word.
+ *
+ * Rows are then mapped with plain array accesses: {@link #column(int)} gives the column of the file of an expected
+ * column and {@link #target(int)} the expected column of a column of the file.
+ *
+ * @author amartinez
+ */
+public class ColumnMapping {
+
+    private static Logger logger = LogManager.getLogger(ColumnMapping.class);
+
+    private SHEETS sheet;
+    private int width;
+    private int[] columns;
+    private int[] targets;
+
+    private ColumnMapping(SHEETS sheet, int width, int[] columns) {
+        this.sheet = sheet;
+        this.width = width;
+        this.columns = columns;
+
+        int size = 0;
+        for (int column : columns) size = Math.max(size, column + 1);
+        this.targets = new int[size];
+        Arrays.fill(targets, -1);
+        for (int i = 0; i < columns.length; i++) targets[columns[i]] = i;
+    }
+
+    /**
+     * @param sheet
+     * @return the columns of the sheet read by position
+     */
+    public static ColumnMapping positional(SHEETS sheet) {
+        int[] columns = new int[sheet.columns()];
+        for (int i = 0; i < columns.length; i++) columns[i] = i;
+        return new ColumnMapping(sheet, columns.length, columns);
+    }
+
+    /**
+     * @param sheet
+     * @param header cells of the header row of the file, {@code null} for an empty cell
+     * @return
+     * @throws IllegalArgumentException if the header does not name every column of the sheet
+     */
+    public static ColumnMapping compile(SHEETS sheet, String[] header) {
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < sheet.columns(); i++)
+            for (String name : sheet.headers(i)) expected.putIfAbsent(normalize(name), i);
+
+        int[] columns = new int[sheet.columns()];
+        Arrays.fill(columns, -1);
+        for (int j = 0; j < header.length; j++) {
+            if (Objects.isNull(header[j])) continue;
+            Integer i = expected.get(normalize(header[j]));
+            if (Objects.nonNull(i) && columns[i] < 0) columns[i] = j;
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++)
+            if (columns[i] < 0) missing.add(sheet.headers(i)[0]);
+
+        if (!missing.isEmpty())
+            throw new IllegalArgumentException(String.format("Sheet %s: columns %s not found in the header %s",
+                    sheet.value(), missing, Arrays.toString(header)));
+
+        ColumnMapping mapping = new ColumnMapping(sheet, header.length, columns);
+        if (!mapping.isPositional())
+            logger.info("Sheet {}: columns read from {}", sheet.value(), Arrays.toString(columns));
+        return mapping;
+    }
+
+    /**
+     * @param row columns of a row of the file, {@link #width()} of them
+     * @return the expected columns of the row, in the order of the sheet
+     */
+    public List<Object> map(List<?> row) {
+        List<Object> mapped = new ArrayList<>(columns.length);
+        for (int column : columns) mapped.add(row.get(column));
+        return mapped;
+    }
+
+    /**
+     * @param column expected column
+     * @return its column in the file
+     */
+    public int column(int column) {
+        return columns[column];
+    }
+
+    /**
+     * @param column column of the file
+     * @return the expected column it holds, or {@code -1} if it is not read
+     */
+    public int target(int column) {
+        return (column < targets.length) ? targets[column] : -1;
+    }
+
+    /**
+     * @return expected columns
+     */
+    public int columns() {
+        return columns.length;
+    }
+
+    /**
+     * @return columns of the file, the header included
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return {@code true} if every expected column is at its own position
+     */
+    public boolean isPositional() {
+        for (int i = 0; i < columns.length; i++)
+            if (columns[i] != i) return false;
+        return true;
+    }
+
+    public SHEETS getSheet() {
+        return sheet;
+    }
+
+    /**
+     * @param header
+     * @return lower case letters and digits of the header, without accents
+     */
+    static String normalize(String header) {
+        String value = StringUtils.stripAccents(header).toLowerCase();
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++)
+            if (Character.isLetterOrDigit(value.charAt(i))) builder.append(value.charAt(i));
+        return builder.toString();
+    }
+}
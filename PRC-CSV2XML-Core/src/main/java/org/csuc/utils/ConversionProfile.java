@@ -0,0 +1,353 @@
+package org.csuc.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Duration and counters of every stage of a conversion, in the order the stages are first seen. The counters are
+ * updated by the stages themselves, the duration and the bytes written by the stage through {@link StageListener}.
+ *
+ * The bytes of a stage are the ones it writes to other files, like the temporal CSV files, and the ones that reach
+ * the output while it runs: stages running at the same time share them, and bytes kept in a buffer are counted by the
+ * stage that flushes them. So the time and the bytes of the stages do not add up, the totals are the wall time of the
+ * conversion and the bytes it wrote.
+ *
+ * @author amartinez
+ */
+public class ConversionProfile implements StageListener {
+
+    /**
+     * Profile of a conversion that is not profiled: it keeps no stage and its stages count nothing.
+     */
+    public static final ConversionProfile NONE = new ConversionProfile() {
+        @Override
+        public Stage stage(String name) {
+            return Stage.NONE;
+        }
+
+        @Override
+        public void started(String stage) {
+        }
+
+        @Override
+        public void finished(String stage) {
+        }
+    };
+
+    private static final String FORMAT = "%-16s %10s %10s %10s %10s %10s %10s %10s %14s%n";
+    private static final int ROWS_OUT = 2;
+
+    private Map<String, Stage> stages = new LinkedHashMap<>();
+    private LongSupplier written = () -> 0;
+    private long startNanos = Long.MAX_VALUE;
+    private long finishNanos = Long.MIN_VALUE;
+
+    /**
+     * @param written bytes written to the output so far
+     */
+    public void setOutput(LongSupplier written) {
+        this.written = written;
+    }
+
+    /**
+     * @param name
+     * @return the counters of the stage, created the first time
+     */
+    public synchronized Stage stage(String name) {
+        return stages.computeIfAbsent(name, Stage::new);
+    }
+
+    public synchronized List<Stage> getStages() {
+        return new ArrayList<>(stages.values());
+    }
+
+    /**
+     * @return wall time from the start of the first stage to the end of the last one
+     */
+    public synchronized long getNanos() {
+        return Math.max(finishNanos - startNanos, 0);
+    }
+
+    /**
+     * @return bytes written to the output and to other files
+     */
+    public long getBytesWritten() {
+        long bytes = written.getAsLong();
+        for (Stage stage : getStages()) bytes += stage.fileBytes.sum();
+        return bytes;
+    }
+
+    @Override
+    public void started(String stage) {
+        long nanos = System.nanoTime();
+        synchronized (this) {
+            startNanos = Math.min(startNanos, nanos);
+        }
+        stage(stage).start(nanos, written.getAsLong());
+    }
+
+    @Override
+    public void finished(String stage) {
+        long nanos = System.nanoTime();
+        stage(stage).finish(nanos, written.getAsLong());
+        synchronized (this) {
+            finishNanos = Math.max(finishNanos, nanos);
+        }
+    }
+
+    /**
+     * The rows are only added up over the stages named after a {@link SHEETS}, the ones reading a sheet: the other
+     * stages hand on the entities of those, so their rows would be counted twice. A last line names the stages added.
+     *
+     * @return one line per stage and a line with the totals: the counters added up, the wall time of the conversion
+     * and the bytes it wrote
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(FORMAT, "Stage", "Time (ms)", "Rows in", "Rows out", "Entities",
+                "Rel. hits", "Rel. miss", "Unchecked", "Bytes written"));
+        long[] total = new long[8];
+        List<String> sheets = new ArrayList<>();
+        for (Stage stage : getStages()) {
+            long[] values = stage.values();
+            boolean sheet = isSheet(stage.getName());
+            if (sheet) sheets.add(stage.getName());
+            for (int i = 1; i < total.length - 1; i++)
+                if (sheet || i > ROWS_OUT) total[i] += values[i];
+            summary.append(line(stage.getName(), values));
+        }
+        total[0] = getNanos() / 1_000_000;
+        total[total.length - 1] = getBytesWritten();
+        summary.append(line("total", total));
+        return summary.append(String.format("Rows in and out of the total: %s%n", String.join(", ", sheets))).toString();
+    }
+
+    /**
+     * Writes the stages as a JSON array, one object per stage with the fields of {@link Stage}.
+     *
+     * @param file
+     * @throws IOException
+     */
+    public void write(File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("[");
+            String separator = "\n";
+            for (Stage stage : getStages()) {
+                long[] values = stage.values();
+                writer.write(String.format("%s  {\"stage\": \"%s\", \"nanos\": %d, \"rowsIn\": %d, \"rowsOut\": %d, \"entities\": %d, "
+                                + "\"relationHits\": %d, \"relationMisses\": %d, \"unchecked\": %d, \"bytesWritten\": %d}",
+                        separator, stage.getName(), stage.getNanos(), values[1], values[2], values[3], values[4], values[5], values[6], values[7]));
+                separator = ",\n";
+            }
+            writer.write("\n]\n");
+        }
+    }
+
+    private static boolean isSheet(String stage) {
+        for (SHEETS sheet : SHEETS.values())
+            if (sheet.name().equals(stage)) return true;
+        return false;
+    }
+
+    private static String line(String name, long[] values) {
+        Object[] columns = new Object[values.length + 1];
+        columns[0] = name;
+        for (int i = 0; i < values.length; i++) columns[i + 1] = values[i];
+        return String.format(FORMAT, columns);
+    }
+
+    /**
+     * Counters of one stage, updated from any thread.
+     */
+    public static class Stage {
+
+        /**
+         * Stage that counts nothing, see {@link #isEnabled()}.
+         */
+        private static final Stage NONE = new Stage("none") {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+            @Override
+            public void rowsIn(long rows) {
+            }
+
+            @Override
+            public void rowsOut(long rows) {
+            }
+
+            @Override
+            public void entities(long entities) {
+            }
+
+            @Override
+            public void relationHit() {
+            }
+
+            @Override
+            public void relationMiss() {
+            }
+
+            @Override
+            public void relations(long hits, long misses) {
+            }
+
+            @Override
+            public void unchecked(long persons) {
+            }
+
+            @Override
+            public void bytesWritten(long bytes) {
+            }
+        };
+
+        private String name;
+        private volatile long nanos;
+        private long startNanos;
+        private long startBytes;
+
+        private LongAdder rowsIn = new LongAdder();
+        private LongAdder rowsOut = new LongAdder();
+        private LongAdder entities = new LongAdder();
+        private LongAdder relationHits = new LongAdder();
+        private LongAdder relationMisses = new LongAdder();
+        private LongAdder unchecked = new LongAdder();
+        private LongAdder fileBytes = new LongAdder();
+        private LongAdder outputBytes = new LongAdder();
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return {@code false} if the stage counts nothing, so counters that cost more than an addition can be skipped
+         */
+        public boolean isEnabled() {
+            return true;
+        }
+
+        /**
+         * @param rows rows read by the stage, relation rows included
+         */
+        public void rowsIn(long rows) {
+            rowsIn.add(rows);
+        }
+
+        /**
+         * @param rows rows handed on by the stage
+         */
+        public void rowsOut(long rows) {
+            rowsOut.add(rows);
+        }
+
+        /**
+         * @param entities CERIF entities created by the stage, unchecked persons included
+         */
+        public void entities(long entities) {
+            this.entities.add(entities);
+        }
+
+        /**
+         * A relation with ORCID found among the researchers.
+         */
+        public void relationHit() {
+            relationHits.increment();
+        }
+
+        /**
+         * A relation with an ORCID that is not a researcher, it is left out.
+         */
+        public void relationMiss() {
+            relationMisses.increment();
+        }
+
+        /**
+         * @param hits   relations with ORCID found among the researchers
+         * @param misses relations with an ORCID that is not a researcher
+         */
+        public void relations(long hits, long misses) {
+            relationHits.add(hits);
+            relationMisses.add(misses);
+        }
+
+        /**
+         * @param persons persons created for the relations without ORCID
+         */
+        public void unchecked(long persons) {
+            unchecked.add(persons);
+        }
+
+        /**
+         * @param bytes bytes written by the stage to other files than the output
+         */
+        public void bytesWritten(long bytes) {
+            fileBytes.add(bytes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getRowsIn() {
+            return rowsIn.sum();
+        }
+
+        public long getRowsOut() {
+            return rowsOut.sum();
+        }
+
+        public long getEntities() {
+            return entities.sum();
+        }
+
+        public long getRelationHits() {
+            return relationHits.sum();
+        }
+
+        public long getRelationMisses() {
+            return relationMisses.sum();
+        }
+
+        public long getUnchecked() {
+            return unchecked.sum();
+        }
+
+        public long getBytesWritten() {
+            return fileBytes.sum() + outputBytes.sum();
+        }
+
+        private synchronized void start(long nanos, long bytes) {
+            startNanos = nanos;
+            startBytes = bytes;
+        }
+
+        private synchronized void finish(long nanos, long bytes) {
+            this.nanos += nanos - startNanos;
+            outputBytes.add(bytes - startBytes);
+        }
+
+        /**
+         * @return milliseconds and counters, in the columns of the summary
+         */
+        private long[] values() {
+            return new long[]{getNanos() / 1_000_000, getRowsIn(), getRowsOut(), getEntities(), getRelationHits(),
+                    getRelationMisses(), getUnchecked(), getBytesWritten()};
+        }
+    }
+}
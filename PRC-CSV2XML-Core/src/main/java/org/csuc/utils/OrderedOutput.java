@@ -0,0 +1,126 @@
+package org.csuc.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Joins the output of concurrent stages in a fixed order. Every stage writes to its own {@link Channel}: the first open
+ * channel writes straight to the sink, the next ones keep their items until every channel before them is closed. The
+ * sink is called by one thread at a time and receives the items as if the stages had run one after another.
+ *
+ * A channel keeps at most {@link #getCapacity()} items: past that its stage waits until the channel is the first open
+ * one. On a {@link ForkJoinPool} the wait is a {@link ForkJoinPool.ManagedBlocker}, so the pool can run the stages
+ * before it meanwhile.
+ *
+ * @author amartinez
+ */
+public class OrderedOutput<T> {
+
+    public static final int CAPACITY = 1024;
+
+    private Consumer<T> sink;
+    private int capacity;
+    private List<Channel> channels = new ArrayList<>();
+    private int head = 0;
+
+    public OrderedOutput(Consumer<T> sink) {
+        this(sink, CAPACITY);
+    }
+
+    /**
+     * @param sink
+     * @param capacity items kept by a channel that is not the first open one
+     */
+    public OrderedOutput(Consumer<T> sink, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException(String.format("%s illegal capacity", capacity));
+        this.sink = sink;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return a channel after every channel opened before
+     */
+    public synchronized Channel channel() {
+        Channel channel = new Channel();
+        channels.add(channel);
+        return channel;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return items kept by the channels, not yet handed to the sink
+     */
+    synchronized int pending() {
+        return channels.stream().mapToInt(channel -> channel.pending.size()).sum();
+    }
+
+    private synchronized void accept(Channel channel, T item) {
+        if (full(channel)) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        synchronized (OrderedOutput.this) {
+                            if (full(channel)) OrderedOutput.this.wait();
+                        }
+                        return !full(channel);
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return !full(channel);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while the stages before were running", e);
+            }
+        }
+        if (channel == channels.get(head)) sink.accept(item);
+        else channel.pending.add(item);
+    }
+
+    private synchronized boolean full(Channel channel) {
+        return channel != channels.get(head) && channel.pending.size() >= capacity;
+    }
+
+    private synchronized void close(Channel channel) {
+        channel.closed = true;
+        while (head < channels.size() && channels.get(head).closed) {
+            head++;
+            if (head < channels.size()) {
+                Channel next = channels.get(head);
+                next.pending.forEach(sink);
+                next.pending.clear();
+            }
+        }
+        notifyAll();
+    }
+
+    /**
+     * Output of one stage, closed when the stage is done.
+     */
+    public class Channel implements Consumer<T>, AutoCloseable {
+
+        private List<T> pending = new ArrayList<>();
+        private boolean closed = false;
+
+        private Channel() {
+        }
+
+        @Override
+        public void accept(T item) {
+            OrderedOutput.this.accept(this, item);
+        }
+
+        @Override
+        public void close() {
+            OrderedOutput.this.close(this);
+        }
+    }
+}
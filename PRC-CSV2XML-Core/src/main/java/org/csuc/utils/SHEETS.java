@@ -7,26 +7,101 @@ import org.apache.commons.lang3.StringUtils;
  */
 public enum SHEETS {
 
-    researchers("Investigadors"),
-    departments("Departaments,Instituts,Escoles"),
-    departments_relations("Dep,Ins,Escoles-Investigadors"),
-    research_groups("Grups_recerca"),
-    research_groups_relations("Grups_recerca-Investigadors"),
-    projects("Projectes_recerca"),
-    projects_relations("Projectes_recerca-Investigadors"),
-    publications("Publicacions"),
-    publication_relations("Publicacions-Autors");
+    researchers("Investigadors",
+            names("Nom Investigador", "Name"),
+            names("ORCID"),
+            names("Signatura investigador", "Signatura", "Signature"),
+            names("a/e", "AE", "Email")),
+    departments("Departaments,Instituts,Escoles",
+            names("Nom", "Name"),
+            names("Sigles", "Acronym"),
+            names("Adreça", "Address"),
+            names("URL"),
+            names("a/e", "AE", "Email"),
+            names("Codi dept. / institut / escola", "Codi", "Code"),
+            names("Telèfon", "Telf", "Phone")),
+    departments_relations("Dep,Ins,Escoles-Investigadors",
+            names("Codi dept. - institut – escola", "Codi", "Code"),
+            names("ORCID")),
+    research_groups("Grups_recerca",
+            names("Nom", "Name"),
+            names("Sigles", "Acronym"),
+            names("URL"),
+            names("a/e", "AE", "Email"),
+            names("Codi intern", "Codi", "Code"),
+            names("Codi SGR", "SGR"),
+            names("Data creació", "Date")),
+    research_groups_relations("Grups_recerca-Investigadors",
+            names("Codi intern grup", "Codi", "Code"),
+            names("Nom investigador", "Nom", "Name"),
+            names("ORCID"),
+            names("És investigador principal?", "IP")),
+    projects("Projectes_recerca",
+            names("Títol", "Title"),
+            names("URL"),
+            names("Codi oficial", "Official code"),
+            names("Codi intern", "Codi", "Code"),
+            names("Programa", "Funding program"),
+            names("Data inici", "Start date"),
+            names("Data fi", "End date")),
+    projects_relations("Projectes_recerca-Investigadors",
+            names("Codi intern projecte", "Codi", "Code"),
+            names("Nom investigador", "Nom", "Name"),
+            names("ORCID"),
+            names("És investigador principal?", "IP")),
+    publications("Publicacions",
+            names("Títol", "Title"),
+            names("ID intern", "ID"),
+            names("DOI"),
+            names("Handle"),
+            names("Num"),
+            names("Vol"),
+            names("startPage", "Start page"),
+            names("endPage", "End page"),
+            names("isbn"),
+            names("issn"),
+            names("Data publicació", "Data", "Date"),
+            names("Publicat a", "Published in"),
+            names("Publicat per", "Published by"),
+            names("Tipus document", "Document type"),
+            names("Cadena d'autors", "Group authors")),
+    publication_relations("Publicacions-Autors",
+            names("ID intern", "ID"),
+            names("Nom", "Name"),
+            names("ORCID"),
+            names("En cas de tesis, intervé en la seva direcció?", "Director"));
 
     private String value;
+    private String[][] headers;
 
-    SHEETS(String value) {
+    SHEETS(String value, String[]... headers) {
         this.value = value;
+        this.headers = headers;
     }
 
     public String value() {
         return value;
     }
 
+    /**
+     * Number of columns expected in the sheet.
+     *
+     * @return
+     */
+    public int columns() {
+        return headers.length;
+    }
+
+    /**
+     * Accepted headers of a column, the header of the PRC template first.
+     *
+     * @param column zero based column of the sheet
+     * @return
+     */
+    public String[] headers(int column) {
+        return headers[column].clone();
+    }
+
     public static SHEETS convert(String value) throws Exception {
         for (SHEETS inst : values()) {
             if (inst.value().equals(value)
@@ -36,4 +111,8 @@ public enum SHEETS {
         }
         throw new Exception(String.format("Invalid sheet name: %s", value));
     }
+
+    private static String[] names(String... names) {
+        return names;
+    }
 }
@@ -0,0 +1,45 @@
+package org.csuc.utils;
+
+/**
+ * Notified when a stage of a conversion starts and finishes, on the thread that runs the stage. Stages without a
+ * dependency between them may run at the same time, so a listener must be thread safe.
+ *
+ * @author amartinez
+ */
+public interface StageListener {
+
+    /**
+     * Listener that ignores every stage.
+     */
+    StageListener NONE = new StageListener() {
+        @Override
+        public void started(String stage) {
+        }
+
+        @Override
+        public void finished(String stage) {
+        }
+    };
+
+    /**
+     * @param listeners
+     * @return a listener that notifies every listener, in order
+     */
+    static StageListener all(StageListener... listeners) {
+        return new StageListener() {
+            @Override
+            public void started(String stage) {
+                for (StageListener listener : listeners) listener.started(stage);
+            }
+
+            @Override
+            public void finished(String stage) {
+                for (StageListener listener : listeners) listener.finished(stage);
+            }
+        };
+    }
+
+    void started(String stage);
+
+    void finished(String stage);
+}
@@ -0,0 +1,95 @@
+package org.csuc.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the stages of a conversion as soon as the stages they depend on are done. Stages without a dependency between
+ * them run concurrently on the executor; with a direct executor ({@code Runnable::run}) every stage runs in the
+ * calling thread, in the order it is added.
+ *
+ * @author amartinez
+ */
+public class StageScheduler {
+
+    private static Logger logger = LogManager.getLogger(StageScheduler.class);
+
+    private Executor executor;
+    private StageListener listener;
+    private Map<String, CompletableFuture<Void>> stages = new LinkedHashMap<>();
+
+    public StageScheduler(Executor executor) {
+        this(executor, StageListener.NONE);
+    }
+
+    /**
+     * @param executor
+     * @param listener notified around every stage, on the thread that runs it
+     */
+    public StageScheduler(Executor executor, StageListener listener) {
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * @param name         unique name of the stage
+     * @param stage
+     * @param dependencies names of stages added before
+     * @return this scheduler
+     */
+    public StageScheduler stage(String name, Stage stage, String... dependencies) {
+        if (stages.containsKey(name)) throw new IllegalArgumentException(String.format("Stage %s already added", name));
+
+        CompletableFuture<?>[] after = new CompletableFuture<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            after[i] = stages.get(dependencies[i]);
+            if (Objects.isNull(after[i]))
+                throw new IllegalArgumentException(String.format("Stage %s depends on unknown stage %s", name, dependencies[i]));
+        }
+
+        stages.put(name, CompletableFuture.allOf(after).thenRunAsync(() -> {
+            long start = System.nanoTime();
+            listener.started(name);
+            try {
+                stage.run();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                listener.finished(name);
+            }
+            logger.debug("Stage {} done in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        }, executor));
+        return this;
+    }
+
+    /**
+     * Waits for every stage.
+     *
+     * @throws Exception the failure of the first stage, in the order they were added, that did not complete
+     */
+    public void await() throws Exception {
+        for (CompletableFuture<Void> stage : stages.values()) {
+            try {
+                stage.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Work of a stage.
+     */
+    @FunctionalInterface
+    public interface Stage {
+        void run() throws Exception;
+    }
+}
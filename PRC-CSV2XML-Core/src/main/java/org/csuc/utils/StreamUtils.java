@@ -1,6 +1,11 @@
 package org.csuc.utils;
 
+import java.util.AbstractMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -16,4 +21,25 @@ public class StreamUtils {
         Iterable<T> iterable = () -> sourceIterator;
         return StreamSupport.stream(iterable.spliterator(), parallel);
     }
+
+    /**
+     * Numbers the elements as they are read from the stream, before it is split, so the numbers follow the order of
+     * the stream even when it is then run in parallel. Closing the result closes the stream.
+     *
+     * @param stream
+     * @return every element with its position, from 1
+     */
+    public static <T> Stream<Map.Entry<Long, T>> numbered(Stream<T> stream) {
+        Spliterator<T> source = stream.spliterator();
+        Spliterator<Map.Entry<Long, T>> numbered = new Spliterators.AbstractSpliterator<Map.Entry<Long, T>>(
+                source.estimateSize(), Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long position = 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Map.Entry<Long, T>> action) {
+                return source.tryAdvance(element -> action.accept(new AbstractMap.SimpleImmutableEntry<>(++position, element)));
+            }
+        };
+        return StreamSupport.stream(numbered, false).onClose(stream::close);
+    }
 }
@@ -0,0 +1,231 @@
+package org.csuc.cli;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.csuc.poi.WorkbookGenerator;
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.csuc.utils.SHEETS;
+import org.csuc.utils.StageListener;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class AppTest {
+
+    /**
+     * Identifiers drawn from {@link org.csuc.global.RandomNumeric}, different on every run.
+     */
+    private static final Pattern ID = Pattern.compile("(?<![0-9])[0-9]{11}(?![0-9])");
+
+    @Test
+    public void threadsExample() throws Exception {
+        File workbook = new File(getClass().getClassLoader().getResource("PRC.xlsx").getFile());
+        String sequential = convert(workbook, "-t", "1");
+        assertTrue(sequential.contains(Semantics.getClassId(ClassId.UNCHECKED)));
+        assertEquals(sequential, convert(workbook, "-t", "4"));
+    }
+
+    @Test
+    public void threadsGenerated() throws Exception {
+        WorkbookGenerator generator = new WorkbookGenerator();
+        generator.setResearchers(200);
+        generator.setDepartments(5);
+        generator.setResearchGroups(10);
+        generator.setProjects(40);
+        generator.setPublications(300);
+        generator.setOrcidRatio(0.7);
+        File workbook = File.createTempFile("PRC-generated", ".xlsx");
+        workbook.deleteOnExit();
+        generator.writeWorkbook(workbook);
+
+        String sequential = convert(workbook, "-t", "1");
+        assertTrue(sequential.contains(Semantics.getClassId(ClassId.UNCHECKED)));
+        assertEquals(sequential, convert(workbook, "-t", "4"));
+        assertEquals(sequential, convert(workbook, "-s", "-t", "4"));
+    }
+
+    @Test
+    public void failedStage() throws Exception {
+        File workbook = new File(getClass().getClassLoader().getResource("PRC.xlsx").getFile());
+        for (String threads : Arrays.asList("1", "4")) {
+            File output = File.createTempFile("PRC", ".xml");
+            output.deleteOnExit();
+            StageListener failing = new StageListener() {
+                @Override
+                public void started(String stage) {
+                    if (stage.equals("publications")) throw new IllegalStateException(stage);
+                }
+
+                @Override
+                public void finished(String stage) {
+                }
+            };
+            try {
+                App.convert(ArgsBean.parse("-i", workbook.toString(), "-o", output.toString(), "-ruct", "024", "--deleteOnExit", "-t", threads), failing);
+                fail();
+            } catch (IllegalStateException e) {
+                assertEquals("publications", e.getMessage());
+            }
+            assertFalse(output.exists());
+        }
+    }
+
+    @Test
+    public void noResearchers() throws Exception {
+        WorkbookGenerator generator = new WorkbookGenerator();
+        generator.setResearchers(0);
+        File workbook = File.createTempFile("PRC-generated", ".xlsx");
+        workbook.deleteOnExit();
+        generator.writeWorkbook(workbook);
+
+        File output = File.createTempFile("PRC", ".xml");
+        output.deleteOnExit();
+        Files.write(output.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+        try {
+            App.convert(ArgsBean.parse("-i", workbook.toString(), "-o", output.toString(), "-ruct", "024", "--deleteOnExit"), StageListener.NONE);
+            fail();
+        } catch (Exception e) {
+            assertEquals("Researchers not content!", e.getMessage());
+        }
+        assertEquals("previous", new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void eventsExample() throws Exception {
+        File workbook = new File(getClass().getClassLoader().getResource("PRC.xlsx").getFile());
+        Map<SHEETS, List<List<String>>> rows = new EnumMap<>(SHEETS.class);
+        rows.put(SHEETS.researchers, Arrays.asList(Collections.singletonList("0000-0002-3843-3472"),
+                Collections.singletonList("0000-0001-5982-5953"), Collections.singletonList("0000-0001-5001-2438")));
+        rows.put(SHEETS.departments, Collections.singletonList(Collections.singletonList("6054400")));
+        rows.put(SHEETS.research_groups, Collections.singletonList(Collections.singletonList("4463")));
+        rows.put(SHEETS.projects, Collections.singletonList(Collections.singletonList("9988")));
+        rows.put(SHEETS.publications, Collections.singletonList(Collections.singletonList("publ1")));
+
+        assertEvents(rows, record(workbook, "-t", "1"));
+        assertEvents(rows, record(workbook, "-t", "2"));
+    }
+
+    @Test
+    public void eventsGenerated() throws Exception {
+        WorkbookGenerator generator = new WorkbookGenerator();
+        generator.setResearchers(100);
+        generator.setDepartments(5);
+        generator.setResearchGroups(10);
+        generator.setProjects(40);
+        generator.setPublications(200);
+        File workbook = File.createTempFile("PRC-generated", ".xlsx");
+        workbook.deleteOnExit();
+        generator.writeWorkbook(workbook);
+
+        Map<SHEETS, List<List<String>>> rows = new EnumMap<>(SHEETS.class);
+        for (SHEETS sheet : Arrays.asList(SHEETS.researchers, SHEETS.departments, SHEETS.research_groups, SHEETS.projects, SHEETS.publications)) {
+            List<List<String>> generated = new ArrayList<>();
+            generator.generate(sheet, row -> generated.add(Arrays.asList(row)));
+            rows.put(sheet, generated);
+        }
+        assertEvents(rows, record(workbook, "-t", "2"));
+    }
+
+    /**
+     * Every row is marshalled once, and the marshal, relation resolution and JAXB write events of a row name the
+     * entity of that row.
+     *
+     * @param rows   cells of the rows of every sheet, without the header
+     * @param events
+     */
+    private static void assertEvents(Map<SHEETS, List<List<String>>> rows, List<RecordedEvent> events) {
+        Map<SHEETS, List<Long>> marshalled = new EnumMap<>(SHEETS.class);
+        int relations = 0;
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            String sheet = event.getString("sheet");
+            long row = event.getLong("row");
+            String entityId = event.getString("entityId");
+            if (name.equals("org.csuc.JaxbWrite") && event.getString("element").equals("cfPers")) {
+                assertNull(sheet);
+                assertEquals(0, row);
+                assertTrue(entityId, ID.matcher(entityId).matches());
+                continue;
+            }
+            List<List<String>> cells = rows.get(SHEETS.valueOf(sheet));
+            assertTrue(String.format("%s %s row %s", name, sheet, row), row >= 1 && row <= cells.size());
+            assertTrue(String.format("%s %s row %s: %s not in %s", name, sheet, row, entityId, cells.get((int) row - 1)),
+                    cells.get((int) row - 1).contains(entityId));
+            if (name.equals("org.csuc.Marshal"))
+                marshalled.computeIfAbsent(SHEETS.valueOf(sheet), key -> new ArrayList<>()).add(row);
+            else if (name.equals("org.csuc.RelationResolution"))
+                relations++;
+        }
+        assertTrue(relations > 0);
+        rows.forEach((sheet, cells) -> {
+            List<Long> marshal = marshalled.getOrDefault(sheet, new ArrayList<>());
+            Collections.sort(marshal);
+            List<Long> expected = new ArrayList<>();
+            for (long row = 1; row <= cells.size(); row++) expected.add(row);
+            assertEquals(sheet.name(), expected, marshal);
+        });
+    }
+
+    /**
+     * @param workbook
+     * @param options
+     * @return the marshal, relation resolution and JAXB write events of the conversion, whatever their duration
+     * @throws Exception
+     */
+    private static List<RecordedEvent> record(File workbook, String... options) throws Exception {
+        Path file = Files.createTempFile("PRC", ".jfr");
+        file.toFile().deleteOnExit();
+        List<String> names = Arrays.asList("org.csuc.Marshal", "org.csuc.RelationResolution", "org.csuc.JaxbWrite");
+        try (Recording recording = new Recording()) {
+            for (String name : names) recording.enable(name).withThreshold(Duration.ZERO);
+            recording.start();
+            convert(workbook, options);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        events.removeIf(event -> !names.contains(event.getEventType().getName()));
+        return events;
+    }
+
+    /**
+     * @param workbook
+     * @param options
+     * @return the output, its random identifiers renamed in the order they first appear, so the output of two runs
+     * is the same byte for byte when they create the same persons in the same order and refer to them alike
+     * @throws Exception
+     */
+    private static String convert(File workbook, String... options) throws Exception {
+        File output = File.createTempFile("PRC", ".xml");
+        output.deleteOnExit();
+        String[] args = new String[options.length + 7];
+        System.arraycopy(new String[]{"-i", workbook.toString(), "-o", output.toString(), "-ruct", "024", "--deleteOnExit"}, 0, args, 0, 7);
+        System.arraycopy(options, 0, args, 7, options.length);
+        App.convert(ArgsBean.parse(args), StageListener.NONE);
+
+        String xml = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+        Map<String, String> ids = new HashMap<>();
+        Matcher matcher = ID.matcher(xml);
+        StringBuffer renamed = new StringBuffer();
+        while (matcher.find())
+            matcher.appendReplacement(renamed, ids.computeIfAbsent(matcher.group(), id -> String.format("ID%011d", ids.size())));
+        return matcher.appendTail(renamed).toString();
+    }
+}
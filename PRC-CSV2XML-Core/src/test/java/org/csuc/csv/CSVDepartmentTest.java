@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -35,6 +36,7 @@ public class CSVDepartmentTest {
         List data = new CSVDepartment(file.toString(), fileRelation.toString()).readCSVRelation();
 
         assertEquals(3, data.size());
+        assertEquals(Reading.readWithCsvListReader(fileRelation.toString(), Processors.getProcessorsDepartmentRelation(), 2), data);
     }
 
     @Test
@@ -44,4 +46,26 @@ public class CSVDepartmentTest {
         assertEquals(null, data.readCSV());
         assertEquals(null, data.readCSV());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void streamRows() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("Organisation.csv").getFile());
+        File fileRelation = new File(classLoader.getResource("RelationOrganitsation.csv").getFile());
+
+        CSVDepartment data = new CSVDepartment(file.toString(), fileRelation.toString());
+        List<DepartmentRow> rows = data.streamRows().collect(Collectors.toList());
+
+        assertEquals(1, rows.size());
+        assertEquals("PPC", rows.get(0).getAcro());
+        assertEquals("6054400", rows.get(0).getCode());
+        assertEquals("933125065", rows.get(0).getPhone());
+
+        List<RelationRow> relation = data.readRelationRows();
+        assertEquals(3, relation.size());
+        assertEquals("6054400", relation.get(0).getCode());
+        assertEquals("0000-0002-3843-3472", relation.get(0).getOrcid());
+        assertNull(relation.get(0).getName());
+        assertNull(relation.get(0).getRole());
+    }
+}
@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -35,6 +36,7 @@ public class CSVPublicationTest {
         List data = new CSVPublication(file.toString(), fileRelation.toString()).readCSVRelation();
 
         assertEquals(3, data.size());
+        assertEquals(Reading.readWithCsvListReader(fileRelation.toString(), Processors.getProcessorsPublicationRelation(), 4), data);
     }
 
     @Test
@@ -44,4 +46,26 @@ public class CSVPublicationTest {
         assertEquals(null, data.readCSV());
         assertEquals(null, data.readCSV());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void streamRows() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("Publication.csv").getFile());
+        File fileRelation = new File(classLoader.getResource("RelationPublication.csv").getFile());
+
+        CSVPublication data = new CSVPublication(file.toString(), fileRelation.toString());
+        List<PublicationRow> rows = data.streamRows().collect(Collectors.toList());
+
+        assertEquals(1, rows.size());
+        assertEquals("publ1", rows.get(0).getId());
+        assertEquals("2012-05-30", rows.get(0).getDate());
+        assertEquals("Doctoral Thesis", rows.get(0).getDocumentType());
+
+        List<RelationRow> relation = data.readRelationRows();
+        assertEquals(3, relation.size());
+        assertEquals("publ1", relation.get(0).getCode());
+        assertNull(relation.get(0).getName());
+        assertEquals("0000-0002-3843-3472", relation.get(0).getOrcid());
+        assertEquals("si", relation.get(0).getRole());
+    }
+}
@@ -1,10 +1,16 @@
 package org.csuc.csv;
 
+import org.csuc.utils.SHEETS;
 import org.junit.Test;
 import org.supercsv.prefs.CsvPreference;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -20,4 +26,57 @@ public class ReadingTest {
 
         assertNull(researchers);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void streamWithCsvListReader() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("Publication.csv").getFile());
+        File empty = new File(classLoader.getResource("empty/Researcher.csv").getFile());
+        CsvPreference csvPreference = (new CsvPreference.Builder('"', ';', "\n")).build();
+
+        List<List<Object>> publications = Reading.readWithCsvListReader(file.toString(), Processors.getProcessorsPublication(), 15, csvPreference);
+        try (Stream<List<Object>> stream = Reading.streamWithCsvListReader(file.toString(), Processors.getProcessorsPublication(), 15, csvPreference)) {
+            assertEquals(publications, stream.collect(Collectors.toList()));
+        }
+
+        try (Stream<List<Object>> stream = Reading.streamWithCsvListReader(empty.toString(), Processors.getProcessorsResearcher(), 4, csvPreference)) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    public void byHeader() throws Exception {
+        File file = File.createTempFile("reading", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("Observacions;ORCID;Codi dept. / institut / escola\n"
+                + "x;0000-0001-0000-0000;D1\n"
+                + ";;\n"
+                + "y;0000-0002-0000-0000;D2\n").getBytes(StandardCharsets.UTF_8));
+        CsvPreference csvPreference = (new CsvPreference.Builder('"', ';', "\n")).build();
+
+        assertEquals(Arrays.asList(Arrays.asList("D1", "0000-0001-0000-0000"), Arrays.asList("D2", "0000-0002-0000-0000")),
+                Reading.readWithCsvListReader(file.toString(), SHEETS.departments_relations,
+                        Processors.getProcessorsDepartmentRelation(), csvPreference));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownHeader() throws Exception {
+        File file = File.createTempFile("reading", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Departament;ORCID\nD1;0000-0001-0000-0000\n".getBytes(StandardCharsets.UTF_8));
+
+        Reading.readWithCsvListReader(file.toString(), SHEETS.departments_relations,
+                Processors.getProcessorsDepartmentRelation(), (new CsvPreference.Builder('"', ';', "\n")).build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void narrowRow() throws Exception {
+        File file = File.createTempFile("reading", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("Observacions;ORCID;Codi dept. / institut / escola\n"
+                + "0000-0001-0000-0000;D1\n").getBytes(StandardCharsets.UTF_8));
+
+        Reading.readWithCsvListReader(file.toString(), SHEETS.departments_relations,
+                Processors.getProcessorsDepartmentRelation(), (new CsvPreference.Builder('"', ';', "\n")).build());
+    }
+}
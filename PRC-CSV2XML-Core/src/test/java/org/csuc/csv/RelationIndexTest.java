@@ -0,0 +1,26 @@
+package org.csuc.csv;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class RelationIndexTest {
+
+    @Test
+    public void get() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("Project.csv").getFile());
+        File fileRelation = new File(classLoader.getResource("RelationProject.csv").getFile());
+
+        CSVProject data = new CSVProject(file.toString(), fileRelation.toString());
+        RelationIndex index = data.readCSVRelationIndex();
+
+        assertEquals(1, index.size());
+        assertEquals(data.readRelationRows(), index.get("9988"));
+        assertNull(index.get("0000"));
+        assertNull(index.get(null));
+        assertNull(new RelationIndex(null).get("9988"));
+    }
+}
@@ -0,0 +1,98 @@
+package org.csuc.csv;
+
+import org.csuc.utils.SHEETS;
+import org.junit.Test;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class TokenizerRowSourceTest {
+
+    private CsvPreference csvPreference = (new CsvPreference.Builder('"', ';', "\n")).build();
+
+    @Test
+    public void sameAsCsvRowSource() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        String[] files = {"Researcher.csv", "Organisation.csv", "RelationOrganitsation.csv", "ResearchGroup.csv",
+                "RelationResearchGroup.csv", "Project.csv", "RelationProject.csv", "Publication.csv", "RelationPublication.csv"};
+        // processors are stateful (unique values), every read gets its own
+        List<Supplier<CellProcessor[]>> processors = Arrays.asList(Processors::getProcessorsResearcher,
+                Processors::getProcessorsDepartment, Processors::getProcessorsDepartmentRelation,
+                Processors::getProcessorsResearchGroup, Processors::getProcessorsResearchGroupRelation,
+                Processors::getProcessorsProject, Processors::getProcessorsProjectRelation,
+                Processors::getProcessorsPublication, Processors::getProcessorsPublicationRelation);
+
+        for (int i = 0; i < files.length; i++) {
+            String file = new File(classLoader.getResource(files[i]).getFile()).toString();
+            int sizeCol = processors.get(i).get().length;
+            List<List<Object>> rows = new TokenizerRowSource(file, csvPreference).read(processors.get(i).get(), sizeCol);
+            assertNotNull(files[i], rows);
+            assertEquals(files[i], new CsvRowSource(file, csvPreference).read(processors.get(i).get(), sizeCol), rows);
+        }
+    }
+
+    @Test
+    public void quoting() throws Exception {
+        File file = File.createTempFile("tokenizer", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("NAME;CODI;AE\r\n"
+                + "\"a;b\";\"say \"\"hi\"\"\";\"\"\r\n"
+                + "\r\n"
+                + " spaced ;\"multi\r\nline\";x\"y\"z\n"
+                + ";;\n"
+                + "Peña Gómez, Cleofé;\"\";last").getBytes(StandardCharsets.UTF_8));
+
+        CellProcessor[] processors = {new Optional(), new Optional(), new Optional()};
+        assertEquals(new CsvRowSource(file.toString(), csvPreference).read(processors, 3),
+                new TokenizerRowSource(file.toString(), csvPreference).read(processors, 3));
+        assertEquals(Arrays.asList(
+                Arrays.asList("a;b", "say \"hi\"", null),
+                Arrays.asList(" spaced ", "multi\nline", "xyz"),
+                Arrays.asList("Peña Gómez, Cleofé", null, "last")),
+                new TokenizerRowSource(file.toString(), csvPreference).read(processors, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSize() throws Exception {
+        File file = File.createTempFile("tokenizer", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "NAME;CODI\na;b;c\n".getBytes(StandardCharsets.UTF_8));
+
+        new TokenizerRowSource(file.toString(), csvPreference).read(new CellProcessor[]{new Optional(), new Optional()}, 2);
+    }
+
+    @Test
+    public void byHeader() throws Exception {
+        File file = File.createTempFile("tokenizer", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("Observacions;ORCID;Codi dept. / institut / escola\n"
+                + "x;0000-0001-0000-0000;D1\n"
+                + "y;0000-0002-0000-0000;D2\n").getBytes(StandardCharsets.UTF_8));
+
+        List<List<Object>> rows = new TokenizerRowSource(file.toString(), csvPreference, SHEETS.departments_relations)
+                .read(Processors.getProcessorsDepartmentRelation(), 2);
+        assertEquals(Arrays.asList(Arrays.asList("D1", "0000-0001-0000-0000"), Arrays.asList("D2", "0000-0002-0000-0000")), rows);
+        assertEquals(new CsvRowSource(file.toString(), csvPreference, SHEETS.departments_relations)
+                .read(Processors.getProcessorsDepartmentRelation(), 2), rows);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownHeader() throws Exception {
+        File file = File.createTempFile("tokenizer", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Departament;ORCID\nD1;0000-0001-0000-0000\n".getBytes(StandardCharsets.UTF_8));
+
+        new TokenizerRowSource(file.toString(), csvPreference, SHEETS.departments_relations)
+                .read(Processors.getProcessorsDepartmentRelation(), 2);
+    }
+}
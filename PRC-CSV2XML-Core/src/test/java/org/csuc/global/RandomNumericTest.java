@@ -0,0 +1,29 @@
+package org.csuc.global;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class RandomNumericTest {
+
+    @Test
+    public void newId() {
+        RandomNumeric randomNumeric = RandomNumeric.newInstance();
+
+        List<String> ids = IntStream.range(0, 100_000).parallel()
+                .mapToObj(i -> randomNumeric.newId())
+                .collect(Collectors.toList());
+        Set<String> unique = ids.stream().collect(Collectors.toSet());
+
+        assertEquals(ids.size(), unique.size());
+        assertEquals(ids.size(), randomNumeric.getListID().size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("\\d{11}")));
+        assertNotSame(randomNumeric, RandomNumeric.newInstance());
+        assertSame(RandomNumeric.getInstance(), RandomNumeric.getInstance());
+    }
+}
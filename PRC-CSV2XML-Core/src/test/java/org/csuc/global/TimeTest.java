@@ -2,7 +2,9 @@ package org.csuc.global;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.text.ParseException;
+
+import static org.junit.Assert.*;
 
 public class TimeTest {
 
@@ -14,4 +16,32 @@ public class TimeTest {
         assertEquals(d, Time.formatDateTime(d).toString());
         assertEquals(d2, Time.formatDate(d2).toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void patterns() throws Exception {
+        assertEquals("2015-01-30", Time.formatDate("30/01/2015").toString());
+        assertEquals("2015-01-05", Time.formatDate("2015/1/5").toString());
+        assertEquals("2015-01-30", Time.formatDate("2015-01-30T16:39:13").toString());
+        assertEquals("2018-02-20T16:39:13", Time.formatDateTime("2018-02-20 16:39:13").toString());
+        assertNull(Time.formatDate(null));
+    }
+
+    @Test
+    public void cached() throws Exception {
+        String d = "2018-02-20T16:39:13";
+
+        Time.formatDateTime(d).setYear(2000);
+        assertEquals(d, Time.formatDateTime(d).toString());
+        assertNotSame(Time.formatDateTime(d), Time.formatDateTime(d));
+    }
+
+    @Test(expected = ParseException.class)
+    public void invalid() throws Exception {
+        Time.formatDate("2015-02-30");
+    }
+
+    @Test(expected = ParseException.class)
+    public void invalidDateTime() throws Exception {
+        Time.formatDateTime("2015-01-30");
+    }
+}
@@ -0,0 +1,66 @@
+package org.csuc.marshal;
+
+import org.csuc.csv.ProjectRow;
+import org.csuc.csv.RelationRow;
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.junit.Test;
+import xmlns.org.eurocris.cerif_1.CfPersType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConversionContextTest {
+
+    @Test
+    public void uncheckedPersons() {
+        ConversionContext context = new ConversionContext();
+        context.add(new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED)));
+
+        List<RelationRow> relation = Arrays.asList(new RelationRow("9988", null, "0000-0002-3843-3472", "si"),
+                new RelationRow("9988", "Peña Gómez, Cleofé", null, "no"));
+
+        MarshalProject project = new MarshalProject(new ProjectRow("title", null, null, "9988", null, null, null),
+                relation, context);
+
+        assertEquals(1, project.getNewCfPersType().size());
+        assertEquals(2, context.size());
+        assertSame(project.getNewCfPersType().get(0), context.get(1));
+    }
+
+    @Test
+    public void of() {
+        ConversionContext context = new ConversionContext();
+        assertSame(context, ConversionContext.of(context));
+        assertNull(ConversionContext.of(null));
+
+        List<CfPersType> researchers = Collections.singletonList(new MarshalReseracher(null, "Garcia", null,
+                "0000-0002-3843-3472", null, null, null, Semantics.getClassId(ClassId.CHECKED)));
+        assertEquals(researchers.get(0), ConversionContext.of(researchers).getIdentifier("0000-0002-3843-3472"));
+    }
+
+    @Test
+    public void stage() {
+        ConversionContext context = new ConversionContext();
+        context.add(new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED)));
+
+        ConversionContext stage = context.stage();
+        assertTrue(stage.isEmpty());
+        assertSame(context.getRandomNumeric(), stage.getRandomNumeric());
+        assertSame(context.get(0), stage.getIdentifier("0000-0002-3843-3472"));
+
+        new MarshalProject(new ProjectRow("title", null, null, "9988", null, null, null),
+                Collections.singletonList(new RelationRow("9988", "Peña Gómez, Cleofé", null, "no")), stage);
+
+        assertEquals(1, stage.size());
+        assertEquals(1, context.size());
+
+        context.addAll(stage);
+        assertSame(stage.get(0), context.get(1));
+    }
+}
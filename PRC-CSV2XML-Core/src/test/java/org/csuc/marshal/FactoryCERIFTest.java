@@ -4,6 +4,8 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.io.IoBuilder;
 import org.csuc.csv.*;
 import org.csuc.serialize.JaxbMarshal;
+import org.csuc.serialize.JaxbParallelWriter;
+import org.csuc.serialize.JaxbStreamWriter;
 import org.csuc.typesafe.semantics.ClassId;
 import org.csuc.typesafe.semantics.Semantics;
 import org.junit.Test;
@@ -11,10 +13,15 @@ import xmlns.org.eurocris.cerif_1.*;
 
 import javax.xml.bind.JAXBException;
 
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -40,98 +47,110 @@ public class FactoryCERIFTest {
             cfPersTypeList.add(pers);
         });
 
+        ConversionContext context = new ConversionContext(cfPersTypeList);
+
         //OrgUnits (Department)
         CSVDepartment csvDepartment = new CSVDepartment(new File(classLoader.getResource("Organisation.csv").getFile()).toString(),
                 new File(classLoader.getResource("RelationOrganitsation.csv").getFile()).toString());
 
-        csvDepartment.readCSV().forEach(researcher -> {
-            MarshalDepartment marshalDepartment =
-                    new MarshalDepartment(
-                            new NameOrTitle((String) researcher.get(0), null, null),
-                            (String) researcher.get(1),
-                            (String) researcher.get(2),
-                            (String) researcher.get(3),
-                            (String) researcher.get(4),
-                            (String) researcher.get(5),
-                            (String) researcher.get(6),
-                            csvDepartment.readCSVRelation(),
-                            cfPersTypeList
-                    );
-            assertNotNull(marshalDepartment);
-            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalDepartment);
-        });
+        try (Stream<DepartmentRow> rows = csvDepartment.streamRows()) {
+            rows.forEach(row -> {
+                MarshalDepartment marshalDepartment = new MarshalDepartment(row, csvDepartment.readRelationRows(), context);
+                assertNotNull(marshalDepartment);
+                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalDepartment);
+            });
+        }
 
         //OrgUnits (Research Group)
         CSVResearchGroup csvResearchGroup = new CSVResearchGroup(new File(classLoader.getResource("ResearchGroup.csv").getFile()).toString(),
                 new File(classLoader.getResource("RelationResearchGroup.csv").getFile()).toString());
-        csvResearchGroup.readCSV().forEach(researcher -> {
-            MarshalResearchGroup marshalResearchGroup = new MarshalResearchGroup(
-                    new NameOrTitle((String) researcher.get(0), null, null),
-                    (String) researcher.get(1),
-                    (String) researcher.get(2),
-                    (String) researcher.get(3),
-                    (String) researcher.get(4),
-                    (String) researcher.get(5),
-                    (String) researcher.get(6),
-                    csvResearchGroup.readCSVRelation(),
-                    cfPersTypeList
-            );
-            assertNotNull(marshalResearchGroup);
-            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalResearchGroup);
-            //cfPersTypeList.addAll(marshalResearchGroup.getNewCfPersType());
-        });
+        try (Stream<ResearchGroupRow> rows = csvResearchGroup.streamRows()) {
+            rows.forEach(row -> {
+                MarshalResearchGroup marshalResearchGroup = new MarshalResearchGroup(row, csvResearchGroup.readRelationRows(), context);
+                assertNotNull(marshalResearchGroup);
+                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalResearchGroup);
+            });
+        }
 
         //Projects
-        new CSVProject(new File(classLoader.getResource("Project.csv").getFile()).toString(),
-                new File(classLoader.getResource("RelationProject.csv").getFile()).toString()).readCSV().forEach(researcher -> {
-            MarshalProject marshalProject =
-                    new MarshalProject(
-                            new NameOrTitle((String) researcher.get(0), null, null),
-                            (String) researcher.get(1),
-                            (String) researcher.get(2),
-                            (String) researcher.get(3),
-                            (String) researcher.get(4),
-                            (String) researcher.get(5),
-                            (String) researcher.get(6),
-                            null,
-                            null
-                    );
-            assertNotNull(marshalProject);
-            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalProject);
-           // cfPersTypeList.addAll(marshalProject.getNewCfPersType());
-        });
+        try (Stream<ProjectRow> rows = new CSVProject(new File(classLoader.getResource("Project.csv").getFile()).toString(),
+                new File(classLoader.getResource("RelationProject.csv").getFile()).toString()).streamRows()) {
+            rows.forEach(row -> {
+                MarshalProject marshalProject = new MarshalProject(row, null, null);
+                assertNotNull(marshalProject);
+                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalProject);
+            });
+        }
 
         //Publications
-        new CSVPublication(new File(classLoader.getResource("Publication.csv").getFile()).toString(),
-                new File(classLoader.getResource("RelationPublication.csv").getFile()).toString()).readCSV().forEach(researcher -> {
-            MarshalPublication marshalPublication =
-                    new MarshalPublication(
-                            new NameOrTitle((String) researcher.get(0), null, null),
-                            (String) researcher.get(1),
-                            (String) researcher.get(2),
-                            (String) researcher.get(3),
-                            (String) researcher.get(4),
-                            (String) researcher.get(5),
-                            (String) researcher.get(6),
-                            (String) researcher.get(7),
-                            (String) researcher.get(8),
-                            (String) researcher.get(9),
-                            (String) researcher.get(10),
-                            (String) researcher.get(11),
-                            (String) researcher.get(12),
-                            (String) researcher.get(13),
-                            (String) researcher.get(14),
-                            null,
-                            null
-                    );
-            assertNotNull(marshalPublication);
-            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalPublication);
-            //cfPersTypeList.addAll(marshalPublication.getNewCfPersType());
-        });
+        try (Stream<PublicationRow> rows = new CSVPublication(new File(classLoader.getResource("Publication.csv").getFile()).toString(),
+                new File(classLoader.getResource("RelationPublication.csv").getFile()).toString()).streamRows()) {
+            rows.forEach(row -> {
+                MarshalPublication marshalPublication = new MarshalPublication(row, null, null);
+                assertNotNull(marshalPublication);
+                cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(marshalPublication);
+            });
+        }
 
         cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().addAll(cfPersTypeList);
 
         JaxbMarshal jxb = new JaxbMarshal(cerif, CERIF.class);
         jxb.marshaller(IoBuilder.forLogger(FactoryCERIFTest.class).setLevel(Level.INFO).buildOutputStream(), StandardCharsets.UTF_8, true, false);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createElement() throws Exception {
+        CfPersType pers = new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED));
+
+        CERIF cerif = new CERIF();
+        cerif.setDate(DatatypeFactory.newInstance().newXMLGregorianCalendarDate(2019, 5, 20, DatatypeConstants.FIELD_UNDEFINED));
+        cerif.setSourceDatabase("024");
+        cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(pers);
+
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        new JaxbMarshal(cerif, CERIF.class).marshaller(tree, StandardCharsets.UTF_8, false, false);
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("date", cerif.getDate().toXMLFormat());
+        attributes.put("sourceDatabase", cerif.getSourceDatabase());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JaxbStreamWriter writer = new JaxbStreamWriter(stream, StandardCharsets.UTF_8,
+                new QName(FactoryCERIF.NAMESPACE, "CERIF"), attributes, CERIF.class);
+        writer.write(FactoryCERIF.createElement(pers));
+        writer.close();
+
+        assertArrayEquals(tree.toByteArray(), stream.toByteArray());
+    }
+
+    @Test
+    public void parallel() throws Exception {
+        CERIF cerif = new CERIF();
+        cerif.setSourceDatabase("024");
+        for (int i = 0; i < 500; i++) {
+            cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr().add(new MarshalReseracher(null, "Garcia " + i, null,
+                    String.format("0000-0002-3843-%04d", i), null, null, null, Semantics.getClassId(ClassId.CHECKED)));
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("sourceDatabase", cerif.getSourceDatabase());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JaxbParallelWriter writer = new JaxbParallelWriter(stream, StandardCharsets.UTF_8,
+                new QName(FactoryCERIF.NAMESPACE, "CERIF"), attributes, 4, CERIF.class);
+        for (Object pers : cerif.getCfClassOrCfClassSchemeOrCfClassSchemeDescr())
+            writer.write(FactoryCERIF.createElement(pers));
+        writer.close();
+
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        new JaxbMarshal(cerif, CERIF.class).marshaller(tree, StandardCharsets.UTF_8, false, false);
+
+        assertArrayEquals(tree.toByteArray(), stream.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createElementUnknown() {
+        FactoryCERIF.createElement("cfPers");
+    }
+}
@@ -1,11 +1,13 @@
 package org.csuc.marshal;
 
 import org.csuc.csv.CSVDepartment;
+import org.csuc.csv.DepartmentRow;
 import org.junit.Test;
 import xmlns.org.eurocris.cerif_1.CfOrgUnitType;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -23,21 +25,11 @@ public class MarshalDepartmentTest {
 
         CSVDepartment data = new CSVDepartment(file.toString(), fileRelation.toString());
 
-        data.readCSV().forEach(department -> {
-            CfOrgUnitType dept =
-                    FactoryCERIF.createFactory(
-                            new MarshalDepartment(
-                                   new NameOrTitle( (String) department.get(0), null , null),
-                                    (String) department.get(1),
-                                    (String) department.get(2),
-                                    (String) department.get(3),
-                                    (String) department.get(4),
-                                    (String) department.get(5),
-                                    (String) department.get(6),
-                                    data.readCSVRelation(),
-                                    null
-                            ));
-            assertNotNull(dept);
-        });
+        try (Stream<DepartmentRow> rows = data.streamRows()) {
+            rows.forEach(row -> {
+                CfOrgUnitType dept = FactoryCERIF.createFactory(new MarshalDepartment(row, data.readRelationRows(), null));
+                assertNotNull(dept);
+            });
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package org.csuc.marshal;
 
 import org.csuc.csv.CSVProject;
+import org.csuc.csv.ProjectRow;
 import org.junit.Test;
 import xmlns.org.eurocris.cerif_1.CfProjType;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -20,21 +22,11 @@ public class MarshalProjectTest {
         assertTrue(file.exists());
         assertTrue(fileRelation.exists());
 
-        new CSVProject(file.toString(), fileRelation.toString()).readCSV().forEach(researcher -> {
-            CfProjType project =
-                    FactoryCERIF.createFactory(
-                            new MarshalProject(
-                                    new NameOrTitle((String) researcher.get(0), null, null),
-                                    (String) researcher.get(1),
-                                    (String) researcher.get(2),
-                                    (String) researcher.get(3),
-                                    (String) researcher.get(4),
-                                    (String) researcher.get(5),
-                                    (String) researcher.get(6),
-                                    null,
-                                    null
-                            ));
-            assertNotNull(project);
-        });
+        try (Stream<ProjectRow> rows = new CSVProject(file.toString(), fileRelation.toString()).streamRows()) {
+            rows.forEach(row -> {
+                CfProjType project = FactoryCERIF.createFactory(new MarshalProject(row, null, null));
+                assertNotNull(project);
+            });
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package org.csuc.marshal;
 
 import org.csuc.csv.CSVPublication;
+import org.csuc.csv.CSVResearcher;
+import org.csuc.csv.PublicationRow;
+import org.csuc.global.RandomNumeric;
 import org.junit.Test;
+import xmlns.org.eurocris.cerif_1.CfPersType;
 import xmlns.org.eurocris.cerif_1.CfResPublType;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -20,29 +27,41 @@ public class MarshalPublicationTest {
         assertTrue(file.exists());
         assertTrue(fileRelation.exists());
 
-        new CSVPublication(file.toString(), fileRelation.toString()).readCSV().forEach(researcher -> {
-            CfResPublType publication =
-                    FactoryCERIF.createFactory(
-                            new MarshalPublication(
-                                    new NameOrTitle((String) researcher.get(0), null, null),
-                                    (String) researcher.get(1),
-                                    (String) researcher.get(2),
-                                    (String) researcher.get(3),
-                                    (String) researcher.get(4),
-                                    (String) researcher.get(5),
-                                    (String) researcher.get(6),
-                                    (String) researcher.get(7),
-                                    (String) researcher.get(8),
-                                    (String) researcher.get(9),
-                                    (String) researcher.get(10),
-                                    (String) researcher.get(11),
-                                    (String) researcher.get(12),
-                                    (String) researcher.get(13),
-                                    (String) researcher.get(14),
-                                    null,
-                                    null
-                            ));
-            assertNotNull(publication);
-        });
+        try (Stream<PublicationRow> rows = new CSVPublication(file.toString(), fileRelation.toString()).streamRows()) {
+            rows.forEach(row -> {
+                CfResPublType publication = FactoryCERIF.createFactory(new MarshalPublication(row, null, null));
+                assertNotNull(publication);
+            });
+        }
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void row() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("Publication.csv").getFile());
+        File fileRelation = new File(classLoader.getResource("RelationPublication.csv").getFile());
+        File fileResearcher = new File(classLoader.getResource("Researcher.csv").getFile());
+
+        List<CfPersType> researchers = new CSVResearcher(fileResearcher.toString()).streamRows()
+                .map(row -> new MarshalReseracher(row, null, RandomNumeric.getInstance()))
+                .collect(Collectors.toList());
+        ConversionContext context = new ConversionContext(researchers);
+
+        CSVPublication data = new CSVPublication(file.toString(), fileRelation.toString());
+        List<Object> columns = data.readCSV().get(0);
+        PublicationRow row = data.streamRows().findFirst().get();
+
+        MarshalPublication typed = new MarshalPublication(row, data.readRelationRows(), context);
+        MarshalPublication positional = new MarshalPublication(new NameOrTitle((String) columns.get(0), null, null),
+                (String) columns.get(1), (String) columns.get(2), (String) columns.get(3), (String) columns.get(4),
+                (String) columns.get(5), (String) columns.get(6), (String) columns.get(7), (String) columns.get(8),
+                (String) columns.get(9), (String) columns.get(10), (String) columns.get(11), (String) columns.get(12),
+                (String) columns.get(13), (String) columns.get(14), data.readCSVRelation(), researchers);
+
+        assertEquals("publ1", typed.getCfResPublId());
+        assertEquals(positional.getCfTitleOrCfAbstrOrCfKeyw().size(), typed.getCfTitleOrCfAbstrOrCfKeyw().size());
+        assertTrue(typed.getCfTitleOrCfAbstrOrCfKeyw().stream()
+                .anyMatch(element -> element.getValue() instanceof CfResPublType.CfPersResPubl));
+    }
+}
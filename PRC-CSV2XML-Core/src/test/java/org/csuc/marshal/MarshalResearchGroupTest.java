@@ -1,11 +1,13 @@
 package org.csuc.marshal;
 
 import org.csuc.csv.CSVResearchGroup;
+import org.csuc.csv.ResearchGroupRow;
 import org.junit.Test;
 import xmlns.org.eurocris.cerif_1.CfOrgUnitType;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -20,21 +22,11 @@ public class MarshalResearchGroupTest {
         assertTrue(file.exists());
         assertTrue(fileRelation.exists());
 
-        new CSVResearchGroup(file.toString(), fileRelation.toString()).readCSV().forEach(researcher -> {
-            CfOrgUnitType pers =
-                    FactoryCERIF.createFactory(
-                            new MarshalResearchGroup(
-                                    new NameOrTitle( (String) researcher.get(0), null ,null),
-                                    (String) researcher.get(1),
-                                    (String) researcher.get(2),
-                                    (String) researcher.get(3),
-                                    (String) researcher.get(4),
-                                    (String) researcher.get(5),
-                                    (String) researcher.get(6),
-                                    null,
-                                    null
-                            ));
-            assertNotNull(pers);
-        });
+        try (Stream<ResearchGroupRow> rows = new CSVResearchGroup(file.toString(), fileRelation.toString()).streamRows()) {
+            rows.forEach(row -> {
+                CfOrgUnitType pers = FactoryCERIF.createFactory(new MarshalResearchGroup(row, null, null));
+                assertNotNull(pers);
+            });
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package org.csuc.marshal;
+
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.junit.Test;
+import xmlns.org.eurocris.cerif_1.CfPersType;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ResearcherRegistryTest {
+
+    @Test
+    public void getIdentifier() {
+        CfPersType first = new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED));
+        CfPersType second = new MarshalReseracher(null, "Puig", null, "0000-0001-5982-5953", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED));
+
+        ResearcherRegistry registry = new ResearcherRegistry(Arrays.asList(first, second));
+        assertEquals(2, registry.size());
+        assertSame(first, registry.getIdentifier("0000-0002-3843-3472"));
+        assertSame(second, registry.getIdentifier("0000-0001-5982-5953"));
+        assertNull(registry.getIdentifier("0000-0001-5001-2438"));
+
+        CfPersType duplicate = new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED));
+        registry.add(duplicate);
+        assertSame(duplicate, registry.getIdentifier("0000-0002-3843-3472"));
+    }
+}
@@ -0,0 +1,151 @@
+package org.csuc.marshal;
+
+import org.csuc.typesafe.semantics.ClassId;
+import org.csuc.typesafe.semantics.Semantics;
+import org.csuc.utils.ConversionProfile;
+import org.csuc.utils.SHEETS;
+import org.junit.Test;
+import xmlns.org.eurocris.cerif_1.CfPersType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class RowMarshallingTest {
+
+    private static final int ROWS = 2_000;
+
+    @Test
+    public void parallel() {
+        Result sequential = marshal(null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Result parallel = marshal(pool);
+            assertEquals(sequential.entities, parallel.entities);
+            assertEquals(sequential.rows, parallel.rows);
+            assertEquals(sequential.unchecked, parallel.unchecked);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedPool() {
+        Result sequential = marshal(null);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            // stages are themselves tasks of the pool the rows are marshalled on
+            List<Result> stages = IntStream.range(0, 4).mapToObj(i -> pool.submit(() -> marshal(pool)))
+                    .collect(Collectors.toList()).stream().map(task -> task.join()).collect(Collectors.toList());
+            for (Result stage : stages) {
+                assertEquals(sequential.entities, stage.entities);
+                assertEquals(sequential.unchecked, stage.unchecked);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bounded() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AtomicInteger mapped = new AtomicInteger();
+            int[] consumed = {0};
+            int[] ahead = {0};
+            RowMarshalling.rows(IntStream.range(0, 100 * RowMarshalling.BATCH).boxed(), pool, row -> {
+                mapped.incrementAndGet();
+                return row;
+            }, row -> {
+                assertEquals(consumed[0]++, (int) row);
+                ahead[0] = Math.max(ahead[0], mapped.get() - consumed[0]);
+            });
+            assertEquals(100 * RowMarshalling.BATCH, consumed[0]);
+            assertTrue(String.valueOf(ahead[0]), ahead[0] <= 2 * RowMarshalling.BATCH * pool.getParallelism());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void notProfiled() {
+        ConversionContext context = new ConversionContext();
+        ConversionContext stage = context.stage();
+        List<Object> found = new ArrayList<>();
+        RowMarshalling.marshal(SHEETS.projects, IntStream.range(0, 10).boxed(), String::valueOf, null, context, stage,
+                ConversionProfile.NONE.stage("projects"), (row, rowContext) -> rowContext.getIdentifier("0000-0001-5000-0007"),
+                entity -> found.add(entity.getValue()));
+        assertEquals(10, found.size());
+        assertTrue(found.stream().allMatch(Objects::isNull));
+    }
+
+    @Test
+    public void resolveAgainstResearchers() {
+        ConversionContext context = new ConversionContext();
+        context.add(new MarshalReseracher(null, "Garcia", null, "0000-0002-3843-3472", null, null, null,
+                Semantics.getClassId(ClassId.CHECKED)));
+        ConversionContext stage = context.stage();
+        ConversionProfile.Stage profile = new ConversionProfile().stage("projects");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Object> found = new ArrayList<>();
+            RowMarshalling.marshal(SHEETS.projects, IntStream.range(0, 100).boxed(), String::valueOf, pool, context, stage,
+                    profile, (row, rowContext) -> {
+                        rowContext.getIdentifier("0000-0001-5000-0007");
+                        return rowContext.getIdentifier("0000-0002-3843-3472");
+                    }, entity -> found.add(entity.getValue()));
+            assertEquals(100, found.size());
+            for (Object researcher : found) assertSame(context.get(0), researcher);
+            assertTrue(stage.isEmpty());
+            assertEquals(100, profile.getRelationHits());
+            assertEquals(100, profile.getRelationMisses());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Every third row creates an unchecked person.
+     */
+    private static Result marshal(ForkJoinPool pool) {
+        ConversionContext context = new ConversionContext();
+        ConversionContext stage = context.stage();
+        ConversionProfile.Stage profile = new ConversionProfile().stage("publications");
+        Result result = new Result();
+        RowMarshalling.marshal(SHEETS.publications, IntStream.range(0, ROWS).mapToObj(i -> "PUB" + i), id -> id, pool,
+                context, stage, profile, (row, rowContext) -> {
+                    if (Integer.parseInt(row.substring(3)) % 3 == 2) rowContext.add(person(row));
+                    return row;
+                }, entity -> {
+                    result.entities.add((String) entity.getValue());
+                    result.rows.add(entity.getSheet() + ":" + entity.getRow() + ":" + entity.getId());
+                });
+        result.unchecked = stage.stream().map(CfPersType::getCfPersId).collect(Collectors.toList());
+
+        assertEquals(ROWS, result.entities.size());
+        assertEquals("PUB0", result.entities.get(0));
+        assertEquals("publications:" + ROWS + ":PUB" + (ROWS - 1), result.rows.get(ROWS - 1));
+        assertEquals(ROWS / 3, result.unchecked.size());
+        assertEquals(ROWS, profile.getRowsOut());
+        assertEquals(ROWS / 3, profile.getUnchecked());
+        return result;
+    }
+
+    private static CfPersType person(String id) {
+        CfPersType person = new CfPersType();
+        person.setCfPersId(id);
+        return person;
+    }
+
+    private static final class Result {
+        List<String> entities = new ArrayList<>();
+        List<String> rows = new ArrayList<>();
+        List<String> unchecked;
+    }
+}
@@ -0,0 +1,46 @@
+package org.csuc.poi;
+
+import org.csuc.csv.CSVResearcher;
+import org.csuc.utils.SHEETS;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class StreamingXLSX2CSVTest {
+
+    @Test
+    public void execute() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+
+        StreamingXLSX2CSV streaming = new StreamingXLSX2CSV(file, ';', "\n");
+        streaming.execute();
+        streaming.deleteOnExit();
+
+        assertEquals(SHEETS.values().length, streaming.getFiles().size());
+        assertEquals(3, new CSVResearcher(streaming.getFiles().get(SHEETS.researchers).toString()).readCSV().size());
+    }
+
+    @Test
+    public void sameAsXLSX2CSV() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+
+        XLSX2CSV dom = new XLSX2CSV(file, ';', "\n");
+        dom.execute();
+        dom.deleteOnExit();
+
+        StreamingXLSX2CSV streaming = new StreamingXLSX2CSV(file, ';', "\n");
+        streaming.execute();
+        streaming.deleteOnExit();
+
+        for (SHEETS sheet : SHEETS.values()) {
+            assertTrue(sheet.name(), Arrays.equals(Files.readAllBytes(dom.getFiles().get(sheet).toPath()),
+                    Files.readAllBytes(streaming.getFiles().get(sheet).toPath())));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.csuc.poi;
+
+import org.csuc.csv.CSVDepartment;
+import org.csuc.csv.CSVPublication;
+import org.csuc.csv.CSVResearcher;
+import org.csuc.csv.RowSource;
+import org.csuc.utils.SHEETS;
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class WorkbookGeneratorTest {
+
+    @Test
+    public void sameAsCSV() throws Exception {
+        WorkbookGenerator generator = generator();
+        File workbook = File.createTempFile("PRC-generated", ".xlsx");
+        workbook.deleteOnExit();
+        File directory = Files.createTempDirectory("PRC-generated").toFile();
+        directory.deleteOnExit();
+
+        generator.writeWorkbook(workbook);
+        Map<SHEETS, File> files = generator.writeCSV(directory, ';', "\n");
+        files.values().forEach(File::deleteOnExit);
+        assertEquals(SHEETS.values().length, files.size());
+
+        XLSX2RowSource xlsx2RowSource = new XLSX2RowSource(workbook);
+        xlsx2RowSource.execute();
+        Map<SHEETS, RowSource> sources = xlsx2RowSource.getRowSources();
+        CsvPreference csvPreference = (new CsvPreference.Builder('"', ';', "\n")).build();
+
+        CSVResearcher researcher = CSVResearcher.from(sources.get(SHEETS.researchers));
+        assertEquals(40, researcher.readCSV().size());
+        assertEquals(new CSVResearcher(files.get(SHEETS.researchers).toString(), csvPreference).readCSV(), researcher.readCSV());
+
+        CSVDepartment department = CSVDepartment.from(sources.get(SHEETS.departments), sources.get(SHEETS.departments_relations));
+        assertEquals(3, department.readCSV().size());
+        assertEquals(new CSVDepartment(files.get(SHEETS.departments).toString(), files.get(SHEETS.departments_relations).toString(),
+                csvPreference).readCSVRelation(), department.readCSVRelation());
+
+        CSVPublication publication = CSVPublication.from(sources.get(SHEETS.publications), sources.get(SHEETS.publication_relations));
+        CSVPublication csvPublication = new CSVPublication(files.get(SHEETS.publications).toString(),
+                files.get(SHEETS.publication_relations).toString(), csvPreference);
+        assertEquals(30, publication.readCSV().size());
+        assertEquals(csvPublication.readCSV(), publication.readCSV());
+        assertEquals(csvPublication.readCSVRelation(), publication.readCSVRelation());
+    }
+
+    @Test
+    public void generate() throws Exception {
+        List<String[]> relations = rows(generator(), SHEETS.publication_relations);
+        assertEquals(rows(generator(), SHEETS.publication_relations).size(), relations.size());
+
+        // every entity has at least one relation
+        assertEquals(30, relations.stream().map(cells -> cells[0]).distinct().count());
+
+        // about half of the relations without ORCID, the orcid of the other ones is a researcher
+        List<String> orcids = new ArrayList<>();
+        rows(generator(), SHEETS.researchers).forEach(cells -> orcids.add(cells[1]));
+        long unchecked = relations.stream().filter(cells -> Objects.isNull(cells[2])).count();
+        assertTrue(unchecked > relations.size() / 4 && unchecked < relations.size() * 3 / 4);
+        assertTrue(relations.stream().filter(cells -> Objects.nonNull(cells[2])).allMatch(cells -> orcids.contains(cells[2])));
+
+        // department relations always have an ORCID
+        assertTrue(rows(generator(), SHEETS.departments_relations).stream().allMatch(cells -> Objects.nonNull(cells[1])));
+
+        WorkbookGenerator other = generator();
+        other.setSeed(8);
+        assertFalse(Arrays.deepEquals(relations.toArray(), rows(other, SHEETS.publication_relations).toArray()));
+    }
+
+    @Test
+    public void orcid() throws Exception {
+        // check digit of the ORCID documentation examples
+        assertEquals("0000-0001-5000-0007", WorkbookGenerator.orcid(0));
+        assertEquals(WorkbookGenerator.orcid(123), WorkbookGenerator.orcid(123));
+        assertNotEquals(WorkbookGenerator.orcid(123), WorkbookGenerator.orcid(124));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fanOut() throws Exception {
+        new WorkbookGenerator().setFanOut(SHEETS.researchers, 1);
+    }
+
+    private static WorkbookGenerator generator() {
+        WorkbookGenerator generator = new WorkbookGenerator();
+        generator.setResearchers(40);
+        generator.setDepartments(3);
+        generator.setResearchGroups(4);
+        generator.setProjects(5);
+        generator.setPublications(30);
+        generator.setOrcidRatio(0.5);
+        generator.setSeed(7);
+        return generator;
+    }
+
+    private static List<String[]> rows(WorkbookGenerator generator, SHEETS sheet) {
+        List<String[]> rows = new ArrayList<>();
+        generator.generate(sheet, rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,34 @@
+package org.csuc.poi;
+
+import org.csuc.utils.SHEETS;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class XLSX2CSVTest {
+
+    @Test
+    public void threads() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+
+        XLSX2CSV sequential = new XLSX2CSV(file, ';', "\n");
+        sequential.execute();
+        sequential.deleteOnExit();
+
+        XLSX2CSV concurrent = new XLSX2CSV(file, ';', "\n");
+        concurrent.setThreads(4);
+        concurrent.execute();
+        concurrent.deleteOnExit();
+
+        assertEquals(SHEETS.values().length, concurrent.getFiles().size());
+        for (SHEETS sheet : SHEETS.values()) {
+            assertTrue(sheet.name(), Arrays.equals(Files.readAllBytes(sequential.getFiles().get(sheet).toPath()),
+                    Files.readAllBytes(concurrent.getFiles().get(sheet).toPath())));
+        }
+    }
+}
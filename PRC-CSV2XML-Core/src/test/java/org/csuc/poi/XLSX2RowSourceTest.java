@@ -0,0 +1,113 @@
+package org.csuc.poi;
+
+import org.csuc.csv.CSVProject;
+import org.csuc.csv.CSVPublication;
+import org.csuc.csv.CSVResearcher;
+import org.csuc.csv.RowSource;
+import org.csuc.utils.SHEETS;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class XLSX2RowSourceTest {
+
+    @Test
+    public void execute() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+
+        XLSX2RowSource xlsx2RowSource = new XLSX2RowSource(file);
+        xlsx2RowSource.execute();
+        Map<SHEETS, RowSource> sources = xlsx2RowSource.getRowSources();
+
+        assertEquals(SHEETS.values().length, sources.size());
+        assertEquals(3, CSVResearcher.from(sources.get(SHEETS.researchers)).readCSV().size());
+    }
+
+    @Test
+    public void sameAsCSV() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+        CsvPreference csvPreference = (new CsvPreference.Builder('"', ';', "\n")).build();
+
+        XLSX2RowSource xlsx2RowSource = new XLSX2RowSource(file);
+        xlsx2RowSource.execute();
+        Map<SHEETS, RowSource> sources = xlsx2RowSource.getRowSources();
+
+        CSVProject csv = new CSVProject(new File(classLoader.getResource("Project.csv").getFile()).toString(),
+                new File(classLoader.getResource("RelationProject.csv").getFile()).toString(), csvPreference);
+        CSVProject workbook = CSVProject.from(sources.get(SHEETS.projects), sources.get(SHEETS.projects_relations));
+        assertEquals(csv.readCSV(), workbook.readCSV());
+        assertEquals(csv.readCSVRelation(), workbook.readCSVRelation());
+
+        CSVPublication csvPublication = new CSVPublication(new File(classLoader.getResource("Publication.csv").getFile()).toString(),
+                new File(classLoader.getResource("RelationPublication.csv").getFile()).toString(), csvPreference);
+        CSVPublication workbookPublication = CSVPublication.from(sources.get(SHEETS.publications), sources.get(SHEETS.publication_relations));
+        assertEquals(csvPublication.readCSV(), workbookPublication.readCSV());
+        assertEquals(csvPublication.readCSVRelation(), workbookPublication.readCSVRelation());
+    }
+
+    @Test
+    public void reorderedColumns() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("PRC.xlsx").getFile());
+        File reordered = File.createTempFile("PRC-reordered", ".xlsx");
+        reordered.deleteOnExit();
+
+        // every sheet with its columns reversed and an unknown column first
+        DataFormatter formatter = new DataFormatter();
+        try (Workbook source = WorkbookFactory.create(file); Workbook target = new XSSFWorkbook()) {
+            for (Sheet sheet : source) {
+                Sheet copy = target.createSheet(sheet.getSheetName());
+                int columns = SHEETS.convert(sheet.getSheetName()).columns();
+                for (Row row : sheet) {
+                    Row copyRow = copy.createRow(row.getRowNum());
+                    copyRow.createCell(0).setCellValue((row.getRowNum() == 0) ? "Observacions" : "-");
+                    for (int i = 0; i < columns; i++) {
+                        Cell cell = row.getCell(i);
+                        if (Objects.nonNull(cell)) copyRow.createCell(columns - i).setCellValue(formatter.formatCellValue(cell));
+                    }
+                }
+            }
+            try (OutputStream out = new FileOutputStream(reordered)) {
+                target.write(out);
+            }
+        }
+
+        XLSX2RowSource expected = new XLSX2RowSource(file);
+        expected.execute();
+        XLSX2RowSource actual = new XLSX2RowSource(reordered);
+        actual.execute();
+
+        for (SHEETS sheet : SHEETS.values())
+            assertEquals(sheet.toString(),
+                    Objects.toString(expected.getRowSources().get(sheet).read(new CellProcessor[sheet.columns()], sheet.columns())),
+                    Objects.toString(actual.getRowSources().get(sheet).read(new CellProcessor[sheet.columns()], sheet.columns())));
+
+        StreamingXLSX2CSV streaming = new StreamingXLSX2CSV(reordered, ';', "\n");
+        streaming.execute();
+        streaming.deleteOnExit();
+        CSVPublication csvPublication = new CSVPublication(streaming.getFiles().get(SHEETS.publications).toString(),
+                streaming.getFiles().get(SHEETS.publication_relations).toString(),
+                (new CsvPreference.Builder('"', ';', "\n")).build());
+        CSVPublication workbookPublication = CSVPublication.from(expected.getRowSources().get(SHEETS.publications),
+                expected.getRowSources().get(SHEETS.publication_relations));
+        assertEquals(workbookPublication.readCSV(), csvPublication.readCSV());
+        assertEquals(workbookPublication.readCSVRelation(), csvPublication.readCSVRelation());
+    }
+}
@@ -11,4 +11,10 @@ public class AltresTest {
         assertTrue(Altres.isValidCode("58863317"));
         assertTrue(Altres.isValidCode("G63687222"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getName() {
+        assertEquals("Centre de Medicina Regenerativa de Barcelona", Altres.getName("G63687222"));
+        assertNull(Altres.getName("024"));
+    }
+}
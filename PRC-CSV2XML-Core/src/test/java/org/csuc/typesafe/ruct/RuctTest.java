@@ -13,4 +13,11 @@ public class RuctTest {
         assertTrue(Ruct.isValidRuct("062"));
         assertFalse(Ruct.isValidRuct("asd"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getName() {
+        assertNotNull(Ruct.getName("024"));
+        assertNull(Ruct.getName("asd"));
+        assertFalse(Ruct.isValidRuct("java.version"));
+    }
+}
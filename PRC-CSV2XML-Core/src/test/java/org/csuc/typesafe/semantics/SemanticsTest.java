@@ -2,6 +2,8 @@ package org.csuc.typesafe.semantics;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -28,4 +30,21 @@ public class SemanticsTest {
         assertEquals("e7f1d5ee-03c8-11e4-933d-b2227cce2b54", Semantics.getClassId(ClassId.DEPARTMENT_CODE_2));
         assertEquals("e7f1c0f4-03c8-11e4-933d-b2227cce2b54", Semantics.getClassId(ClassId.DEPARTMENT_OR_INSTITUTE));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void load() {
+        try {
+            Semantics.load(ConfigFactory.parseString("classId { BOOK = book }"));
+            assertEquals("book", Semantics.getClassId(ClassId.BOOK));
+            try {
+                Semantics.getSchemaId(SchemeId.FUNDING_SOURCE_TYPES);
+                fail();
+            } catch (ConfigException.Missing e) {
+                logger.debug(e.getMessage());
+            }
+        } finally {
+            Semantics.load("semantics.conf");
+        }
+        assertEquals("eda2b2f6-34c5-11e1-b86c-0800200c9a66", Semantics.getClassId(ClassId.BOOK));
+    }
+}
@@ -0,0 +1,67 @@
+package org.csuc.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ColumnMappingTest {
+
+    @Test
+    public void compile() {
+        ColumnMapping mapping = ColumnMapping.compile(SHEETS.researchers,
+                new String[]{"Nom Investigador", "ORCID", "Signatura investigador", "a/e"});
+
+        assertTrue(mapping.isPositional());
+        assertEquals(4, mapping.columns());
+        assertEquals(3, mapping.column(3));
+        assertEquals(-1, mapping.target(4));
+    }
+
+    @Test
+    public void reordered() {
+        ColumnMapping mapping = ColumnMapping.compile(SHEETS.departments_relations,
+                new String[]{"Observacions", "orcid", null, "CODI DEPT. / INSTITUT / ESCOLA"});
+
+        assertFalse(mapping.isPositional());
+        assertEquals(3, mapping.column(0));
+        assertEquals(1, mapping.column(1));
+        assertEquals(-1, mapping.target(0));
+        assertEquals(1, mapping.target(1));
+        assertEquals(-1, mapping.target(2));
+        assertEquals(0, mapping.target(3));
+    }
+
+    @Test
+    public void aliases() {
+        ColumnMapping mapping = ColumnMapping.compile(SHEETS.research_groups_relations,
+                new String[]{"ORCID", "Code", "Name", "IP"});
+
+        assertEquals(1, mapping.column(0));
+        assertEquals(2, mapping.column(1));
+        assertEquals(0, mapping.column(2));
+        assertEquals(3, mapping.column(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownHeader() {
+        ColumnMapping.compile(SHEETS.departments_relations, new String[]{"A", "ORCID", "C"});
+    }
+
+    @Test
+    public void map() {
+        ColumnMapping mapping = ColumnMapping.compile(SHEETS.departments_relations,
+                new String[]{"Observacions", "ORCID", "Codi dept. / institut / escola"});
+
+        assertEquals(3, mapping.width());
+        assertEquals(Arrays.asList("D1", "0000"), mapping.map(Arrays.asList("x", "0000", "D1")));
+    }
+
+    @Test
+    public void normalize() {
+        assertEquals("esinvestigadorprincipal", ColumnMapping.normalize("És investigador principal?"));
+        assertEquals(ColumnMapping.normalize("Codi dept. / institut / escola"),
+                ColumnMapping.normalize("Codi dept. - institut – escola"));
+    }
+}
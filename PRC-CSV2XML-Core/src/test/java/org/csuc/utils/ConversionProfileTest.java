@@ -0,0 +1,125 @@
+package org.csuc.utils;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class ConversionProfileTest {
+
+    @Test
+    public void none() {
+        ConversionProfile.Stage stage = ConversionProfile.NONE.stage("publications");
+        ConversionProfile.NONE.started("publications");
+        stage.rowsIn(5);
+        stage.relationHit();
+        ConversionProfile.NONE.finished("publications");
+
+        assertFalse(stage.isEnabled());
+        assertEquals(0, stage.getRowsIn());
+        assertEquals(0, stage.getRelationHits());
+        assertTrue(ConversionProfile.NONE.getStages().isEmpty());
+        assertTrue(new ConversionProfile().stage("publications").isEnabled());
+    }
+
+    @Test
+    public void concurrentStages() {
+        ConversionProfile profile = new ConversionProfile();
+        long[] written = {0};
+        profile.setOutput(() -> written[0]);
+
+        // both stages see the bytes written while they run
+        profile.started("departments");
+        profile.started("projects");
+        profile.stage("projects").bytesWritten(50);
+        profile.stage("departments").rowsIn(2);
+        profile.stage("projects").rowsIn(3);
+        written[0] += 100;
+        profile.finished("departments");
+        profile.finished("projects");
+
+        assertEquals(150, profile.stage("projects").getBytesWritten());
+        assertEquals(100, profile.stage("departments").getBytesWritten());
+        assertEquals(150, profile.getBytesWritten());
+        assertTrue(profile.getNanos() <= profile.stage("departments").getNanos() + profile.stage("projects").getNanos());
+
+        String[] total = profile.summary().split(System.lineSeparator())[3].trim().split("\\s+");
+        assertEquals("total", total[0]);
+        assertEquals(String.valueOf(profile.getNanos() / 1_000_000), total[1]);
+        assertEquals("5", total[2]);
+        assertEquals("150", total[8]);
+    }
+
+    @Test
+    public void totalRows() {
+        ConversionProfile profile = new ConversionProfile();
+        profile.stage("researchers").rowsIn(3);
+        profile.stage("researchers").rowsOut(3);
+        profile.stage("projects").rowsIn(4);
+        profile.stage("projects").rowsOut(2);
+        profile.stage("projects").entities(3);
+        profile.stage("unchecked").rowsIn(1);
+        profile.stage("unchecked").rowsOut(1);
+        profile.stage("write").rowsIn(4);
+        profile.stage("write").rowsOut(4);
+
+        String[] summary = profile.summary().split(System.lineSeparator());
+        assertEquals(7, summary.length);
+        String[] total = summary[5].trim().split("\\s+");
+        assertEquals("total", total[0]);
+        assertEquals("7", total[2]);
+        assertEquals("5", total[3]);
+        assertEquals("3", total[4]);
+        assertEquals("Rows in and out of the total: researchers, projects", summary[6]);
+    }
+
+    @Test
+    public void stages() throws Exception {
+        ConversionProfile profile = new ConversionProfile();
+        long[] written = {0};
+        profile.setOutput(() -> written[0]);
+
+        new StageScheduler(Runnable::run, profile)
+                .stage("researchers", () -> {
+                    profile.stage("researchers").rowsIn(3);
+                    profile.stage("researchers").rowsOut(3);
+                })
+                .stage("publications", () -> {
+                    ConversionProfile.Stage stage = profile.stage("publications");
+                    stage.rowsIn(5);
+                    stage.relationHit();
+                    stage.relationMiss();
+                    stage.unchecked(2);
+                    written[0] += 100;
+                }, "researchers")
+                .await();
+
+        assertEquals(2, profile.getStages().size());
+        ConversionProfile.Stage publications = profile.getStages().get(1);
+        assertEquals("publications", publications.getName());
+        assertEquals(5, publications.getRowsIn());
+        assertEquals(1, publications.getRelationHits());
+        assertEquals(1, publications.getRelationMisses());
+        assertEquals(2, publications.getUnchecked());
+        assertEquals(100, publications.getBytesWritten());
+
+        String[] summary = profile.summary().split(System.lineSeparator());
+        assertEquals(5, summary.length);
+        assertTrue(summary[1].startsWith("researchers"));
+        assertTrue(summary[3].startsWith("total"));
+        assertTrue(summary[3].trim().endsWith(" 100"));
+        assertEquals("Rows in and out of the total: researchers, publications", summary[4]);
+        assertEquals(100, profile.getBytesWritten());
+        assertTrue(profile.getNanos() > 0);
+
+        File json = File.createTempFile("profile", ".json");
+        json.deleteOnExit();
+        profile.write(json);
+        String content = new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"stage\": \"publications\""));
+        assertTrue(content.contains("\"relationMisses\": 1"));
+    }
+}
@@ -0,0 +1,98 @@
+package org.csuc.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class OrderedOutputTest {
+
+    @Test
+    public void order() {
+        List<String> sink = new ArrayList<>();
+        OrderedOutput<String> output = new OrderedOutput<>(sink::add);
+        OrderedOutput<String>.Channel first = output.channel();
+        OrderedOutput<String>.Channel second = output.channel();
+        OrderedOutput<String>.Channel third = output.channel();
+
+        third.accept("c1");
+        second.accept("b1");
+        first.accept("a1");
+        assertEquals(Arrays.asList("a1"), sink);
+
+        third.close();
+        first.accept("a2");
+        first.close();
+        assertEquals(Arrays.asList("a1", "a2", "b1"), sink);
+
+        second.accept("b2");
+        second.close();
+        assertEquals(Arrays.asList("a1", "a2", "b1", "b2", "c1"), sink);
+    }
+
+    @Test
+    public void bounded() throws Exception {
+        List<String> sink = new ArrayList<>();
+        OrderedOutput<String> output = new OrderedOutput<>(sink::add, 10);
+        OrderedOutput<String>.Channel first = output.channel();
+        OrderedOutput<String>.Channel second = output.channel();
+
+        Thread producer = new Thread(() -> {
+            IntStream.range(0, 100).forEach(i -> second.accept("b" + i));
+            second.close();
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING) {
+            assertTrue(producer.isAlive());
+            Thread.sleep(10);
+        }
+        assertEquals(10, output.pending());
+        assertTrue(sink.isEmpty());
+
+        first.accept("a0");
+        first.close();
+        producer.join(10_000);
+        assertFalse(producer.isAlive());
+        assertEquals(0, output.pending());
+        List<String> expected = new ArrayList<>(Arrays.asList("a0"));
+        IntStream.range(0, 100).forEach(i -> expected.add("b" + i));
+        assertEquals(expected, sink);
+    }
+
+    /**
+     * Later stages waiting on a pool of one thread do not keep the first stage from running.
+     */
+    @Test
+    public void boundedOnPool() throws Exception {
+        List<String> sink = new ArrayList<>();
+        OrderedOutput<String> output = new OrderedOutput<>(sink::add, 2);
+        List<OrderedOutput<String>.Channel> channels = IntStream.range(0, 4).mapToObj(i -> output.channel()).collect(Collectors.toList());
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            List<ForkJoinTask<?>> stages = new ArrayList<>();
+            for (int c = channels.size() - 1; c >= 0; c--) {
+                OrderedOutput<String>.Channel channel = channels.get(c);
+                String name = String.valueOf((char) ('a' + c));
+                stages.add(pool.submit(() -> {
+                    try (OrderedOutput<String>.Channel out = channel) {
+                        IntStream.range(0, 20).forEach(i -> out.accept(name + i));
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> stage : stages) stage.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        List<String> expected = new ArrayList<>();
+        for (char c = 'a'; c <= 'd'; c++) for (int i = 0; i < 20; i++) expected.add(c + "" + i);
+        assertEquals(expected, sink);
+    }
+}
@@ -0,0 +1,90 @@
+package org.csuc.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StageSchedulerTest {
+
+    @Test
+    public void dependencies() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<String> done = new CopyOnWriteArrayList<>();
+            CountDownLatch both = new CountDownLatch(2);
+
+            // "a" and "b" only finish if they run at the same time
+            new StageScheduler(executor)
+                    .stage("first", () -> done.add("first"))
+                    .stage("a", () -> {
+                        both.countDown();
+                        assertTrue(both.await(10, TimeUnit.SECONDS));
+                        done.add("a");
+                    }, "first")
+                    .stage("b", () -> {
+                        both.countDown();
+                        assertTrue(both.await(10, TimeUnit.SECONDS));
+                        done.add("b");
+                    }, "first")
+                    .stage("last", () -> done.add("last"), "a", "b")
+                    .await();
+
+            assertEquals(4, done.size());
+            assertEquals("first", done.get(0));
+            assertEquals("last", done.get(3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failure() {
+        List<String> done = new CopyOnWriteArrayList<>();
+        StageScheduler scheduler = new StageScheduler(Runnable::run)
+                .stage("first", () -> {
+                    throw new Exception("Researchers not content!");
+                })
+                .stage("second", () -> done.add("second"), "first");
+        try {
+            scheduler.await();
+            fail();
+        } catch (Exception e) {
+            assertEquals("Researchers not content!", e.getMessage());
+        }
+        assertTrue(done.isEmpty());
+    }
+
+    @Test
+    public void listener() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        new StageScheduler(Runnable::run, new StageListener() {
+            @Override
+            public void started(String stage) {
+                events.add("started " + stage);
+            }
+
+            @Override
+            public void finished(String stage) {
+                events.add("finished " + stage);
+            }
+        })
+                .stage("first", () -> events.add("first"))
+                .stage("second", () -> events.add("second"), "first")
+                .await();
+
+        assertEquals(Arrays.asList("started first", "first", "finished first", "started second", "second", "finished second"), events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownDependency() {
+        new StageScheduler(Runnable::run).stage("second", () -> {}, "first");
+    }
+}
@@ -0,0 +1,31 @@
+package org.csuc.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class StreamUtilsTest {
+
+    @Test
+    public void numbered() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<String> rows = IntStream.range(0, 10_000).mapToObj(i -> "row" + i).onClose(() -> closed.set(true));
+
+        List<Map.Entry<Long, String>> numbered;
+        try (Stream<Map.Entry<Long, String>> stream = StreamUtils.numbered(rows)) {
+            numbered = stream.parallel().collect(Collectors.toList());
+        }
+
+        assertEquals(10_000, numbered.size());
+        for (Map.Entry<Long, String> row : numbered)
+            assertEquals("row" + (row.getKey() - 1), row.getValue());
+        assertTrue(closed.get());
+    }
+}